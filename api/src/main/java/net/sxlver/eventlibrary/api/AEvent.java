@@ -1,27 +1,19 @@
 package net.sxlver.eventlibrary.api;
 
-import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 public abstract class AEvent<THIS extends AEvent<THIS>> {
-    protected IEventHandler<THIS> eventHandler;
-
-    /**
-     * Used internally to set the {@code event handler} for the current scope.
-     *
-     * @param handler the current handler
-     */
-    @ApiStatus.Internal
-    public void injectHandler(final @Nullable IEventHandler<THIS> handler) {
-        this.eventHandler = handler;
-    }
 
     /**
      * Returns the {@code IEventHandler} representing the current execution scope of the event.
+     * <p>
+     * The handler is looked up in the {@link DispatchContext} of the calling thread rather than stored in the
+     * event, so events can be dispatched on multiple threads at once.
      *
-     * @return The Handler representing the current execution context
+     * @return The Handler handling the event on this thread, or {@code null} if called outside of a handler
      */
-    public IEventHandler<THIS> getCurrentHandler() {
-        return eventHandler;
+    @SuppressWarnings("unchecked")
+    public @Nullable IEventHandler<THIS> getCurrentHandler() {
+        return DispatchContext.currentHandler((THIS) this);
     }
 }
@@ -0,0 +1,78 @@
+package net.sxlver.eventlibrary.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The handler currently invoked on this thread, together with the event it has been invoked with.
+ * <p>
+ * Every thread owns a single, reused context, so keeping track of the current handler neither allocates nor
+ * mutates the event. The same event instance can therefore be dispatched on several threads at once, e.g.
+ * by parallel or asynchronous dispatches, without the handlers seeing each other. A dispatch started from
+ * within a handler restores the outer context once it has returned.
+ * <p>
+ * The context can only be read through the API. Dispatchers update it through {@link DispatchContextAccess}.
+ * <p>
+ * The context is only valid while the handler is running on the dispatching thread. Asynchronous handlers
+ * can't rely on it once they have returned their stage.
+ *
+ * @author Steve Oberst
+ * @see    AEvent#getCurrentHandler()
+ */
+public final class DispatchContext {
+
+    private static final ThreadLocal<DispatchContext> CONTEXT = ThreadLocal.withInitial(DispatchContext::new);
+
+    private AEvent<?> event;
+    private IEventHandler<?> handler;
+
+    private DispatchContext() {
+    }
+
+    /**
+     * Returns the context of the calling thread.
+     *
+     * @return the context of the calling thread, never null
+     */
+    public static DispatchContext current() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Returns the handler currently handling {@code event} on this thread.
+     *
+     * @param event the event
+     * @return      the current handler, or {@code null} if no handler is currently handling {@code event}
+     *              on this thread
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends AEvent<T>> @Nullable IEventHandler<T> currentHandler(final AEvent<T> event) {
+        final DispatchContext context = CONTEXT.get();
+        if (context.handler == null)
+            return null;
+
+        /* batch handlers are invoked with many events at once, which is marked by a context without event */
+        return context.event == event || context.event == null ? (IEventHandler<T>) context.handler : null;
+    }
+
+    /**
+     * @return the event currently handled on this thread, {@code null} if none or if a batch is handled
+     */
+    public @Nullable AEvent<?> getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the handler currently invoked on this thread, {@code null} if none
+     */
+    public @Nullable IEventHandler<?> getHandler() {
+        return handler;
+    }
+
+    /**
+     * @see DispatchContextAccess#set(DispatchContext, AEvent, IEventHandler)
+     */
+    void set(final @Nullable AEvent<?> event, final @Nullable IEventHandler<?> handler) {
+        this.event = event;
+        this.handler = handler;
+    }
+}
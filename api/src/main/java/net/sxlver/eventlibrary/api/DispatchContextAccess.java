@@ -0,0 +1,31 @@
+package net.sxlver.eventlibrary.api;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Write access to the {@link DispatchContext} of a thread, used internally by the dispatchers of the core.
+ * <p>
+ * Handlers and callers of the API only ever need to read the context, so setting it is kept off the
+ * {@code DispatchContext} type itself.
+ *
+ * @author Steve Oberst
+ */
+@ApiStatus.Internal
+public final class DispatchContextAccess {
+
+    private DispatchContextAccess() {
+    }
+
+    /**
+     * Sets the context for the invocation of a handler. Callers remember the previous event and handler and
+     * restore them once the handler has returned.
+     *
+     * @param context the context of the calling thread, as returned by {@link DispatchContext#current()}
+     * @param event   the event handled, {@code null} for a batch of events
+     * @param handler the handler invoked, {@code null} once no handler is invoked anymore
+     */
+    public static void set(final DispatchContext context, final @Nullable AEvent<?> event, final @Nullable IEventHandler<?> handler) {
+        context.set(event, handler);
+    }
+}
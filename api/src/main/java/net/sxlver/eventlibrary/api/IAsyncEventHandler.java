@@ -0,0 +1,26 @@
+package net.sxlver.eventlibrary.api;
+
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A handler that completes its work asynchronously.
+ * <p>
+ * Events dispatched asynchronously are passed to {@link #onEventAsync(AEvent)} and the dispatch only carries
+ * on with the next handler once the returned stage has completed, without blocking any thread in the
+ * meantime. The result the stage completes with cancels or continues the event just like the result of
+ * {@link #onEvent(AEvent)}. Events dispatched synchronously wait for the stage to complete.
+ *
+ * @param <T> The type of event the handler receives
+ */
+public interface IAsyncEventHandler<T extends AEvent<T>> extends IEventHandler<T> {
+
+    /**
+     * Starts processing an event.
+     *
+     * @param event the event to be processed
+     * @return      a stage completing with the result of the handler, not null
+     */
+    CompletionStage<IListenerExecutionResult<T>> onEventAsync(final T event);
+}
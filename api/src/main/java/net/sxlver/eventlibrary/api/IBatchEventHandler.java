@@ -0,0 +1,29 @@
+package net.sxlver.eventlibrary.api;
+
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A handler that processes whole batches of events at once.
+ * <p>
+ * When a batch is dispatched, the handler receives all events of the batch that are still relevant to it
+ * in a single call of {@link #onEvents(List)}, i.e. all events that haven't been cancelled by handlers of a
+ * higher priority, or every event if the handler {@link #ignoreCancelled() ignores cancelled events}. The
+ * results it returns cancel or continue the individual events just like the results of {@link #onEvent(AEvent)}.
+ *
+ * @param <T> The type of event the handler receives
+ */
+public interface IBatchEventHandler<T extends AEvent<T>> extends IEventHandler<T> {
+
+    /**
+     * Processes a batch of events.
+     *
+     * @param events the events to be processed, not to be modified
+     * @return       the results for each event in the order of {@code events}, or {@code null} if every
+     *               event has been processed successfully
+     */
+    @Nullable
+    List<IListenerExecutionResult<T>> onEvents(final List<T> events);
+}
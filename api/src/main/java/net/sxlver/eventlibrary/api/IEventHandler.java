@@ -2,6 +2,11 @@ package net.sxlver.eventlibrary.api;
 
 import net.sxlver.eventlibrary.api.annotation.EventPriority;
 import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
 
 public interface IEventHandler<T extends AEvent<T>> {
     IListenerExecutionResult<T> onEvent(final T event);
@@ -24,5 +29,28 @@ public interface IEventHandler<T extends AEvent<T>> {
         return false;
     }
 
+    /**
+     * Returns the key of the events this handler is interested in. A handler with a key only receives
+     * {@link IKeyedEvent}s whose {@link IKeyedEvent#getRoutingKey() routing key} equals it, a handler
+     * without a key receives every event of its type.
+     *
+     * @return the routing key of this handler, or {@code null} if it receives every event
+     */
+    @Nullable
+    default Object getRoutingKey() {
+        return null;
+    }
+
+    /**
+     * Returns the preconditions of this handler. The handler is only invoked for events accepted by all of
+     * them. Filters are compared by identity, the same instance shared by several handlers is only evaluated
+     * once per dispatch.
+     *
+     * @return the filters of this handler, empty if it receives every event
+     */
+    default List<Predicate<? super T>> getFilters() {
+        return Collections.emptyList();
+    }
+
     int hashCode();
 }
@@ -0,0 +1,24 @@
+package net.sxlver.eventlibrary.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An event that is routed by a key, such as the id of the entity, player or tenant it concerns.
+ * <p>
+ * Besides the handlers registered for its type, a keyed event is only dispatched to the handlers whose
+ * {@link IEventHandler#getRoutingKey() routing key} equals its own. Handlers are indexed by their key, so
+ * dispatching a keyed event costs the same no matter how many handlers are registered for other keys.
+ *
+ * @author Steve Oberst
+ */
+public interface IKeyedEvent {
+
+    /**
+     * Returns the key handlers are selected by. Keys are compared through {@link Object#equals(Object)},
+     * so they have to be immutable while the event is being dispatched.
+     *
+     * @return the routing key of this event, or {@code null} if only handlers without a key receive it
+     */
+    @Nullable
+    Object getRoutingKey();
+}
@@ -1,8 +1,6 @@
 package net.sxlver.eventlibrary.api.result;
 
 import net.sxlver.eventlibrary.api.AEvent;
-import net.sxlver.eventlibrary.common.exception.EventException;
-import net.sxlver.eventlibrary.common.exception.HandlerInvocationException;
 
 import java.io.PrintStream;
 
@@ -12,12 +10,10 @@ public class ErrorReport<A extends Throwable, B extends AEvent<B>> {
 
     private final A error;
     private final String cause;
-    private StackTraceElement[] stacktrace;
 
     public ErrorReport(final A error) {
         this.error = error;
         this.cause = error.getMessage();
-        this.stacktrace = error.getStackTrace();
     }
 
     public A getError() {
@@ -28,11 +24,21 @@ public class ErrorReport<A extends Throwable, B extends AEvent<B>> {
         return cause;
     }
 
+    /**
+     * Returns the stack trace of the error. The trace is only materialised once it is requested, as
+     * converting it is considerably more expensive than capturing it.
+     *
+     * @return the stack trace of the error, empty if the error didn't capture one
+     */
     public StackTraceElement[] getStackTrace() {
-        return stacktrace;
+        return error.getStackTrace();
     }
 
     public void printStackTrace() {
-        new HandlerInvocationException(error).printStackTrace();
+        printStackTrace(System.err);
+    }
+
+    public void printStackTrace(final PrintStream stream) {
+        error.printStackTrace(stream);
     }
 }
@@ -0,0 +1,45 @@
+package net.sxlver.eventlibrary.api.result;
+
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+
+import java.util.BitSet;
+
+/**
+ * The outcome of dispatching a batch of events of the same type.
+ * <p>
+ * Unlike {@link IEventResult} a batch result doesn't record the results of the individual handlers, it
+ * only keeps track of which events ended up being cancelled.
+ *
+ * @param <T> the type of events dispatched
+ */
+public interface IBatchResult<T extends AEvent<T>> {
+
+    /**
+     * @return the number of events in the batch
+     */
+    int size();
+
+    /**
+     * @param index the position of the event in the batch
+     * @return      the event at {@code index}
+     */
+    T getEvent(final int index);
+
+    /**
+     * @param index the position of the event in the batch
+     * @return      whether the event at {@code index} has been cancelled
+     */
+    boolean cancelled(final int index);
+
+    /**
+     * @return the number of events in the batch that have been cancelled
+     */
+    int cancelledCount();
+
+    /**
+     * @return a copy of the set of indices of all cancelled events
+     */
+    @NonNull
+    BitSet getCancelled();
+}
@@ -13,6 +13,15 @@ public interface IListenerExecutionResult<T extends AEvent<T>> {
 
     boolean shouldContinue();
 
+    /**
+     * Returns the handler that has returned this result.
+     * <p>
+     * Results without an error may be shared instances that only reference their handler once they have been
+     * recorded in an {@link IEventResult}.
+     *
+     * @return the handler, or {@code null} if this result hasn't been recorded in an {@code IEventResult}
+     *         and doesn't reference its handler itself
+     */
     IEventHandler<T> getHandler();
 
     <A extends EventException> ErrorReport<A, T> getError();
@@ -0,0 +1,52 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round trip of {@link EventLibrary#dispatchEventAsync(AEvent)}, i.e. handing the dispatch off
+ * to another thread and waiting for its result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncDispatchBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int handlerCount;
+
+    private final List<IEventHandler<AsyncEvent>> handlers = new ArrayList<>();
+    private AsyncEvent event;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < handlerCount; i++) {
+            handlers.add(EventLibrary.registerListener(ListenerExecutionResult::success, AsyncEvent.class));
+        }
+        event = new AsyncEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        handlers.forEach(EventLibrary::unregisterHandler);
+        handlers.clear();
+    }
+
+    @Benchmark
+    public IEventResult<AsyncEvent> dispatchAsync() {
+        return EventLibrary.dispatchEventAsync(event).join();
+    }
+
+    public static class AsyncEvent extends AEvent<AsyncEvent> {}
+}
@@ -0,0 +1,70 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares dispatching a burst of events of the same type one by one with dispatching them as a batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchDispatchBenchmark {
+
+    @Param({"1", "10"})
+    private int handlerCount;
+
+    @Param({"100", "10000"})
+    private int batchSize;
+
+    private final List<IEventHandler<BatchEvent>> handlers = new ArrayList<>();
+    private BatchEvent[] events;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < handlerCount; i++)
+            handlers.add(EventLibrary.registerListener(ListenerExecutionResult::success, BatchEvent.class, EventPriority.DEFAULT, i));
+
+        events = new BatchEvent[batchSize];
+        for (int i = 0; i < batchSize; i++)
+            events[i] = new BatchEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        handlers.forEach(EventLibrary::unregisterHandler);
+        handlers.clear();
+    }
+
+    @Benchmark
+    public void fireEach(final Blackhole blackhole) {
+        for (final BatchEvent event : events)
+            blackhole.consume(EventLibrary.fireEvent(event));
+    }
+
+    @Benchmark
+    public void dispatchEach(final Blackhole blackhole) {
+        for (final BatchEvent event : events)
+            blackhole.consume(EventLibrary.dispatchEvent(event));
+    }
+
+    @Benchmark
+    public IBatchResult<BatchEvent> dispatchBatch() {
+        return EventLibrary.dispatchBatch(BatchEvent.class, events);
+    }
+
+    public static class BatchEvent extends AEvent<BatchEvent> {}
+}
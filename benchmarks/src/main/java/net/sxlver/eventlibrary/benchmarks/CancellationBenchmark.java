@@ -0,0 +1,64 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a dispatch through a chain in which handlers keep cancelling and un-cancelling the event.
+ * <p>
+ * The first handler cancels the event. Of the remaining handlers every other one ignores the cancelled
+ * state, and those alternate between cancelling the event again and continuing it, so both the skip
+ * path and the cancel/continue bookkeeping are exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CancellationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int handlerCount;
+
+    private final List<IEventHandler<CancellableEvent>> handlers = new ArrayList<>();
+    private CancellableEvent event;
+
+    @Setup
+    public void setup() {
+        handlers.add(EventLibrary.registerListener(ListenerExecutionResult::cancel, CancellableEvent.class, EventPriority.LOWEST));
+        for (int i = 1; i < handlerCount; i++) {
+            final boolean ignoreCancelled = i % 2 == 0;
+            if (ignoreCancelled && i % 4 == 0) {
+                handlers.add(EventLibrary.registerListener(ListenerExecutionResult::continueEvent, CancellableEvent.class, EventPriority.DEFAULT, i, true));
+            } else if (ignoreCancelled) {
+                handlers.add(EventLibrary.registerListener(ListenerExecutionResult::cancel, CancellableEvent.class, EventPriority.DEFAULT, i, true));
+            } else {
+                handlers.add(EventLibrary.registerListener(ListenerExecutionResult::success, CancellableEvent.class, EventPriority.DEFAULT, i, false));
+            }
+        }
+        event = new CancellableEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        handlers.forEach(EventLibrary::unregisterHandler);
+        handlers.clear();
+    }
+
+    @Benchmark
+    public IEventResult<CancellableEvent> dispatch() {
+        return EventLibrary.dispatchEvent(event);
+    }
+
+    public static class CancellableEvent extends AEvent<CancellableEvent> {}
+}
@@ -0,0 +1,88 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a synchronous {@link EventLibrary#dispatchEvent(AEvent)} and {@link EventLibrary#fireEvent(AEvent)}
+ * across different handler counts, comparing reflectively registered subscribers with anonymous handlers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int handlerCount;
+
+    @Param({"REFLECTIVE", "ANONYMOUS"})
+    private HandlerType handlerType;
+
+    private final List<Object> listeners = new ArrayList<>();
+    private final List<IEventHandler<DispatchEvent>> handlers = new ArrayList<>();
+    private DispatchEvent event;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < handlerCount; i++) {
+            if (handlerType == HandlerType.REFLECTIVE) {
+                final Listener listener = new Listener();
+                EventLibrary.registerListener(listener);
+                listeners.add(listener);
+            } else {
+                handlers.add(EventLibrary.registerListener(ListenerExecutionResult::success, DispatchEvent.class));
+            }
+        }
+        event = new DispatchEvent();
+
+        /* reflective listeners of one class used to be merged into a single handler, make sure every one is measured */
+        final int dispatched = EventLibrary.dispatchEvent(event).getExecutionStack().size();
+        if (dispatched != handlerCount)
+            throw new IllegalStateException("Expected " + handlerCount + " handlers to be dispatched to, got " + dispatched + ".");
+    }
+
+    @TearDown
+    public void tearDown() {
+        listeners.forEach(EventLibrary::unregisterListener);
+        handlers.forEach(EventLibrary::unregisterHandler);
+        listeners.clear();
+        handlers.clear();
+    }
+
+    @Benchmark
+    public IEventResult<DispatchEvent> dispatch() {
+        return EventLibrary.dispatchEvent(event);
+    }
+
+    @Benchmark
+    public boolean fire() {
+        return EventLibrary.fireEvent(event);
+    }
+
+    public enum HandlerType {
+        REFLECTIVE,
+        ANONYMOUS
+    }
+
+    public static class Listener {
+        @EventSubscriber
+        public IListenerExecutionResult<DispatchEvent> onEvent(final DispatchEvent event) {
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    public static class DispatchEvent extends AEvent<DispatchEvent> {}
+}
@@ -0,0 +1,71 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IKeyedEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares dispatching an event concerning a single entity to handlers that each care about one entity.
+ * <p>
+ * {@code filtered} registers every handler for the whole event type and lets it compare the key itself,
+ * {@code keyed} registers the handlers with their key, so only the handler of the event's key is invoked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedDispatchBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int handlerCount;
+
+    private EventBus filteredBus;
+    private EventBus keyedBus;
+    private EntityEvent event;
+    private int matches;
+
+    @Setup
+    public void setup() {
+        filteredBus = EventBus.builder().build();
+        keyedBus = EventBus.builder().build();
+        for (int i = 0; i < handlerCount; i++) {
+            final Integer key = i;
+            filteredBus.registerListener(event -> {
+                if (key.equals(event.getRoutingKey()))
+                    matches++;
+                return ListenerExecutionResult.success(event);
+            }, EntityEvent.class);
+            keyedBus.registerKeyedListener(ListenerExecutionResult::success, EntityEvent.class, key);
+        }
+        event = new EntityEvent(handlerCount / 2);
+    }
+
+    @Benchmark
+    public boolean filtered() {
+        return filteredBus.fireEvent(event);
+    }
+
+    @Benchmark
+    public boolean keyed() {
+        return keyedBus.fireEvent(event);
+    }
+
+    public static class EntityEvent extends AEvent<EntityEvent> implements IKeyedEvent {
+        private final Integer entity;
+
+        EntityEvent(final Integer entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public Object getRoutingKey() {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.annotation.Prioritized;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures listener churn, i.e. registering a listener and unregistering it again right away,
+ * as it happens when short-lived objects subscribe to events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @Benchmark
+    public void registerUnregisterListener() {
+        final Listener listener = new Listener();
+        EventLibrary.registerListener(listener);
+        EventLibrary.unregisterListener(listener);
+    }
+
+    @Benchmark
+    public void registerUnregisterRegistration() {
+        EventLibrary.registerListener(new Listener()).unregister();
+    }
+
+    @Benchmark
+    public void registerUnregisterAnonymous() {
+        final IEventHandler<ChurnEvent> handler = EventLibrary.registerListener(ListenerExecutionResult::success, ChurnEvent.class);
+        EventLibrary.unregisterHandler(handler);
+    }
+
+    public static class Listener {
+        @EventSubscriber
+        public IListenerExecutionResult<ChurnEvent> onEvent(final ChurnEvent event) {
+            return ListenerExecutionResult.success(event);
+        }
+
+        @EventSubscriber(ignoreCancelled = true)
+        @Prioritized(priority = EventPriority.HIGH)
+        public IListenerExecutionResult<ChurnEvent> onEventLate(final ChurnEvent event) {
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    public static class ChurnEvent extends AEvent<ChurnEvent> {}
+}
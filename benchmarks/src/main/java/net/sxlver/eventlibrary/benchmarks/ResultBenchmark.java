@@ -0,0 +1,53 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.core.result.EventResult;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the result objects a dispatch produces, separately from invoking any handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int resultCount;
+
+    private final List<IListenerExecutionResult<ResultEvent>> results = new ArrayList<>();
+    private ResultEvent event;
+
+    @Setup
+    public void setup() {
+        event = new ResultEvent();
+        for (int i = 0; i < resultCount; i++) {
+            results.add(ListenerExecutionResult.success(event));
+        }
+    }
+
+    @Benchmark
+    public void listenerResults(final Blackhole blackhole) {
+        for (int i = 0; i < resultCount; i++) {
+            blackhole.consume(ListenerExecutionResult.success(event));
+        }
+    }
+
+    @Benchmark
+    public IEventResult<ResultEvent> eventResult() {
+        return new EventResult<>(event, results);
+    }
+
+    public static class ResultEvent extends AEvent<ResultEvent> {}
+}
@@ -0,0 +1,81 @@
+package net.sxlver.eventlibrary.benchmarks;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import net.sxlver.eventlibrary.core.ring.RingDispatcher;
+import net.sxlver.eventlibrary.core.ring.WaitStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Compares dispatching a freshly allocated event per call with publishing into the preallocated slots of a
+ * {@link RingDispatcher}. The ring is drained by its own consumer thread, so the score of {@code publish} is
+ * bounded by the rate the consumer dispatches at once the ring is full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingDispatchBenchmark {
+
+    /* passes the benchmark itself rather than the boxed tick, so publishing doesn't allocate */
+    private static final BiConsumer<TickEvent, RingDispatchBenchmark> TRANSLATOR = (event, benchmark) -> event.setTick(benchmark.tick++);
+
+    @Param({"BUSY_SPIN", "YIELDING", "BLOCKING"})
+    private String waitStrategy;
+
+    private EventBus bus;
+    private RingDispatcher<TickEvent> dispatcher;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        bus = EventBus.builder().build();
+        bus.registerListener(ListenerExecutionResult::success, TickEvent.class);
+        dispatcher = RingDispatcher.builder(bus, TickEvent::new)
+                .bufferSize(4096)
+                .waitStrategy(waitStrategy())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    private WaitStrategy waitStrategy() {
+        switch (waitStrategy) {
+            case "BUSY_SPIN":
+                return WaitStrategy.busySpin();
+            case "YIELDING":
+                return WaitStrategy.yielding();
+            default:
+                return WaitStrategy.blocking();
+        }
+    }
+
+    @Benchmark
+    public boolean fireNew() {
+        final TickEvent event = new TickEvent();
+        event.setTick(tick++);
+        return bus.fireEvent(event);
+    }
+
+    @Benchmark
+    public void publish() {
+        dispatcher.publish(TRANSLATOR, this);
+    }
+
+    public static class TickEvent extends AEvent<TickEvent> {
+        private long tick;
+
+        public void setTick(final long tick) {
+            this.tick = tick;
+        }
+    }
+}
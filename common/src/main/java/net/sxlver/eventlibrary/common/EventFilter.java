@@ -0,0 +1,25 @@
+package net.sxlver.eventlibrary.common;
+
+import java.util.function.Predicate;
+
+/**
+ * A precondition of a subscriber, evaluated before the subscriber is invoked.
+ * <p>
+ * Filters are referenced by their class through {@link net.sxlver.eventlibrary.common.annotation.EventSubscriber#filter()}
+ * and have to declare a constructor without parameters. A single instance is created per filter class and shared
+ * by all subscribers referencing it, so filters have to be stateless. A filter shared by several subscribers is
+ * only evaluated once per dispatch, it therefore mustn't depend on state of the event modified by subscribers.
+ *
+ * @param <T> The type of event the filter tests
+ * @author Steve Oberst
+ */
+@FunctionalInterface
+public interface EventFilter<T> extends Predicate<T> {
+
+    /**
+     * @param event the event about to be passed to the subscriber
+     * @return      whether the subscriber is invoked for {@code event}
+     */
+    @Override
+    boolean test(final T event);
+}
@@ -35,9 +35,16 @@ public class Reflect {
         }
     }
 
+    /**
+     * Returns the type of event {@code method} subscribes to. For batch subscribers this is the element type
+     * of the {@code List} they take.
+     */
     @SuppressWarnings("unchecked")
     public static Class<?> getSubscriberTarget(final Method method) {
         Validator.checkValidSubscriber(method);
+        if (method.getAnnotation(EventSubscriber.class).batch())
+            return Validator.getBatchElementType(method);
+
         return method.getParameterTypes()[0];
     }
 
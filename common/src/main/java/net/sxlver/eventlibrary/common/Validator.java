@@ -5,6 +5,10 @@ import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 public class Validator {
@@ -15,17 +19,77 @@ public class Validator {
         }
     }
 
-    @SneakyThrows
+    /**
+     * Checks whether {@code method} is annotated with {@link EventSubscriber} and takes a single parameter
+     * that is either an event or an interface implemented by events. Batch subscribers have to take a
+     * {@code List} of such a type instead. Interfaces of the Java platform, such as {@code Runnable}, are not
+     * accepted as event interfaces.
+     */
     public static void checkValidSubscriber(final Method method) {
-        if(!method.isAnnotationPresent(EventSubscriber.class) || method.getParameterCount() != 1
-                || !Class.forName("net.sxlver.eventlibrary.api.AEvent").isAssignableFrom(method.getParameterTypes()[0])) {
-            final String message = method.getName() + " in class " + method.getDeclaringClass() +
-                    " is not a valid event subscriber. An event subscriber may only take the event as parameter " +
-                    "and should be annotated with " + EventSubscriber.class;
-            throw new ValidationException(message);
+        final EventSubscriber annotation = method.getAnnotation(EventSubscriber.class);
+        if(annotation == null || method.getParameterCount() != 1) {
+            throw invalidSubscriber(method);
+        }
+
+        if(annotation.batch()) {
+            final Class<?> elementType = getBatchElementType(method);
+            if(elementType == null || !isEventType(elementType) || CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+                final String message = method.getName() + " in class " + method.getDeclaringClass() +
+                        " is not a valid batch subscriber. A batch subscriber may only take a List of the event " +
+                        "or of an interface implemented by it as parameter and can't complete asynchronously.";
+                throw new ValidationException(message);
+            }
+        } else if(!isEventType(method.getParameterTypes()[0])) {
+            throw invalidSubscriber(method);
         }
     }
 
+    private static ValidationException invalidSubscriber(final Method method) {
+        final String message = method.getName() + " in class " + method.getDeclaringClass() +
+                " is not a valid event subscriber. An event subscriber may only take the event or an interface " +
+                "implemented by it as parameter and should be annotated with " + EventSubscriber.class;
+        return new ValidationException(message);
+    }
+
+    /**
+     * Returns the element type of the {@code List} taken by a batch subscriber.
+     *
+     * @param method the batch subscriber
+     * @return       the element type or {@code null} if the method doesn't take a {@code List} of a class
+     */
+    static Class<?> getBatchElementType(final Method method) {
+        if(!method.getParameterTypes()[0].isAssignableFrom(List.class))
+            return null;
+
+        final Type type = method.getGenericParameterTypes()[0];
+        if(!(type instanceof ParameterizedType))
+            return null;
+
+        Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if(element instanceof ParameterizedType)
+            element = ((ParameterizedType) element).getRawType();
+
+        return element instanceof Class ? (Class<?>) element : null;
+    }
+
+    private static boolean isEventType(final Class<?> type) {
+        if(type.isInterface())
+            return !isPlatformType(type.getName());
+
+        return EventType.AEVENT.isAssignableFrom(type);
+    }
+
+    /**
+     * Returns whether {@code name} is the name of a type of the Java platform. Events can only implement such
+     * interfaces in addition to their own, so subscribing to one would receive unrelated events at best.
+     *
+     * @param name the fully qualified name of a type
+     * @return     {@code true} if the type belongs to the {@code java} or {@code javax} packages
+     */
+    private static boolean isPlatformType(final String name) {
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
     public static <T> T checkNotNull(final T val, final Function<Throwable, RuntimeException> exception) {
         if(val == null)
             throw exception.apply(new NullPointerException("Value cannot be null."));
@@ -33,6 +97,18 @@ public class Validator {
         return val;
     }
 
+    /*
+    resolved once on first use, as this module cannot reference the event class from the api module directly
+     */
+    private static final class EventType {
+        private static final Class<?> AEVENT = load();
+
+        @SneakyThrows
+        private static Class<?> load() {
+            return Class.forName("net.sxlver.eventlibrary.api.AEvent");
+        }
+    }
+
     private static final class ValidationException extends RuntimeException {
         public ValidationException(final String msg) {
             super(msg);
@@ -1,5 +1,7 @@
 package net.sxlver.eventlibrary.common.annotation;
 
+import net.sxlver.eventlibrary.common.EventFilter;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -9,4 +11,27 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EventSubscriber {
     boolean ignoreCancelled() default false;
+
+    /**
+     * Whether the subscriber processes batches of events.
+     * <p>
+     * A batch subscriber takes a {@code List} of events instead of a single event and returns a {@code List}
+     * holding the result for each event, in order, or nothing at all if every event succeeded. Batches
+     * dispatched through {@code dispatchBatch} are passed to it in a single call. Single events are passed
+     * as a batch of one.
+     *
+     * @return whether the subscriber takes a batch of events
+     */
+    boolean batch() default false;
+
+    /**
+     * Filters the events passed to the subscriber.
+     * <p>
+     * The subscriber is only invoked for events accepted by all filters. Rejected events are skipped without
+     * invoking the subscriber or creating a result, as if the subscriber had never been registered for them.
+     * Filters shared by several subscribers are evaluated once per dispatch.
+     *
+     * @return the classes of the filters, each declaring a constructor without parameters
+     */
+    Class<? extends EventFilter<?>>[] filter() default {};
 }
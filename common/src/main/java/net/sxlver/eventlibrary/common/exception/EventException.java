@@ -8,4 +8,13 @@ public class EventException extends RuntimeException {
     public EventException(final String message, final Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param writableStackTrace whether the stack trace should be captured. Exceptions describing expected
+     *                           failures can skip capturing it, which is by far the most expensive part of
+     *                           creating an exception
+     */
+    protected EventException(final String message, final Throwable cause, final boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
 }
@@ -0,0 +1,15 @@
+package net.sxlver.eventlibrary.common.exception;
+
+/**
+ * An expected failure reported by a handler through its result.
+ * <p>
+ * Unlike other exceptions, it doesn't capture a stack trace: it is created where the handler decides to
+ * fail, so the trace wouldn't tell anything the message doesn't. This keeps reporting failures cheap enough
+ * to be used for control flow, e.g. for rejecting invalid input.
+ */
+public class HandlerFailureException extends EventException {
+
+    public HandlerFailureException(final String message) {
+        super(message, null, false);
+    }
+}
@@ -0,0 +1,58 @@
+package net.sxlver.eventlibrary.common.test;
+
+import net.sxlver.eventlibrary.common.Validator;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+public class ValidatorTest {
+
+    @Test
+    public void testPlatformInterfaces() throws NoSuchMethodException {
+        Assertions.assertThrows(RuntimeException.class, () -> Validator.checkValidSubscriber(method("onRunnable", Runnable.class)),
+                "Subscriber of a platform interface was accepted.");
+        Assertions.assertThrows(RuntimeException.class, () -> Validator.checkValidSubscriber(method("onComparable", Comparable.class)),
+                "Subscriber of a generic platform interface was accepted.");
+        Assertions.assertThrows(RuntimeException.class, () -> Validator.checkValidSubscriber(method("onSerializables", List.class)),
+                "Batch subscriber of a platform interface was accepted.");
+    }
+
+    @Test
+    public void testEventInterfaces() throws NoSuchMethodException {
+        Validator.checkValidSubscriber(method("onMarked", Marker.class));
+        Validator.checkValidSubscriber(method("onMarkedBatch", List.class));
+    }
+
+    private static Method method(final String name, final Class<?> parameter) throws NoSuchMethodException {
+        return Listener.class.getDeclaredMethod(name, parameter);
+    }
+
+    interface Marker {
+    }
+
+    static class Listener {
+        @EventSubscriber
+        void onRunnable(final Runnable event) {
+        }
+
+        @EventSubscriber
+        void onComparable(final Comparable<?> event) {
+        }
+
+        @EventSubscriber(batch = true)
+        void onSerializables(final List<Serializable> events) {
+        }
+
+        @EventSubscriber
+        void onMarked(final Marker event) {
+        }
+
+        @EventSubscriber(batch = true)
+        void onMarkedBatch(final List<Marker> events) {
+        }
+    }
+}
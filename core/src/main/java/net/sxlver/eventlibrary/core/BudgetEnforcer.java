@@ -0,0 +1,103 @@
+package net.sxlver.eventlibrary.core;
+
+import com.google.common.collect.MapMaker;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.core.budget.TimeBudget;
+import net.sxlver.eventlibrary.core.budget.ViolationPolicy;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the handlers of a bus exceeding their {@link TimeBudget} and applies its {@link ViolationPolicy}.
+ *
+ * @author Steve Oberst
+ */
+final class BudgetEnforcer {
+
+    private final EventBus bus;
+    private final TimeBudget budget;
+
+    /* both keyed weakly by the identity of the handler, so unregistered handlers aren't kept alive */
+    private final ConcurrentMap<IEventHandler<?>, AtomicInteger> violations = new MapMaker().weakKeys().makeMap();
+    private final Set<IEventHandler<?>> offloaded = Collections.newSetFromMap(new MapMaker().weakKeys().<IEventHandler<?>, Boolean>makeMap());
+
+    BudgetEnforcer(final EventBus bus, final TimeBudget budget) {
+        this.bus = bus;
+        this.budget = budget;
+    }
+
+    long getHandlerBudgetNanos(final Class<?> type, final Collection<Class<?>> supertypes) {
+        return resolve(budget.getHandlerBudgets(), budget.getHandlerBudgetNanos(), type, supertypes);
+    }
+
+    long getEventBudgetNanos(final Class<?> type, final Collection<Class<?>> supertypes) {
+        return resolve(budget.getEventBudgets(), budget.getEventBudgetNanos(), type, supertypes);
+    }
+
+    /*
+    budgets configured for the type take precedence over those of its nearest supertype and the default budget
+     */
+    private static long resolve(final Map<Class<?>, Long> budgets, final long fallback, final Class<?> type, final Collection<Class<?>> supertypes) {
+        if (budgets.isEmpty())
+            return fallback;
+
+        final Long budget = budgets.get(type);
+        if (budget != null)
+            return budget;
+
+        for (final Class<?> supertype : supertypes) {
+            final Long inherited = budgets.get(supertype);
+            if (inherited != null)
+                return inherited;
+        }
+        return fallback;
+    }
+
+    /**
+     * @return whether handlers may be moved to the asynchronous lane at all
+     */
+    boolean isOffloading() {
+        return budget.getViolationPolicy() == ViolationPolicy.ASYNC;
+    }
+
+    boolean isOffloaded(final IEventHandler<?> handler) {
+        return !offloaded.isEmpty() && offloaded.contains(handler);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void handlerExceeded(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler, final long durationNanos, final long budgetNanos) {
+        AtomicInteger counter = violations.get(handler);
+        if (counter == null) {
+            final AtomicInteger created = new AtomicInteger();
+            counter = violations.putIfAbsent(handler, created);
+            if (counter == null) counter = created;
+        }
+
+        final int count = counter.incrementAndGet();
+        budget.getListener().onSlowHandler(event, handler, durationNanos, budgetNanos, count);
+        if (count != budget.getMaxViolations())
+            return;
+
+        switch (budget.getViolationPolicy()) {
+            case DISABLE:
+                bus.disableHandler((IEventHandler) handler);
+                break;
+            case ASYNC:
+                offloaded.add(handler);
+                break;
+            default:
+                return;
+        }
+        budget.getListener().onPolicyApplied(event, handler, budget.getViolationPolicy());
+    }
+
+    void eventExceeded(final Class<? extends AEvent<?>> event, final long durationNanos, final long budgetNanos) {
+        budget.getListener().onSlowDispatch(event, durationNanos, budgetNanos);
+    }
+}
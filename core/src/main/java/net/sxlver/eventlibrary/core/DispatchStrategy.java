@@ -0,0 +1,30 @@
+package net.sxlver.eventlibrary.core;
+
+/**
+ * Determines how an {@link EventBus} walks the handler chain of an event.
+ *
+ * @author Steve Oberst
+ * @see    EventBus.Builder#dispatchStrategy(DispatchStrategy)
+ */
+public enum DispatchStrategy {
+    /**
+     * Handlers are invoked one after another on the dispatching thread, ordered by priority and weight.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Handlers sharing the same {@link net.sxlver.eventlibrary.api.annotation.EventPriority} are invoked
+     * concurrently on the {@link EventBus.Builder#parallelExecutor(java.util.concurrent.Executor) parallel executor}
+     * and joined before the handlers of the next priority are invoked.
+     * <p>
+     * Whether the event is cancelled is only decided once all handlers of a priority have returned: their
+     * results are applied in order of their weight, just like they would have been applied sequentially.
+     * Handlers of the same priority therefore can't cancel the event for each other. Handlers and events
+     * have to be safe to use from multiple threads. Dispatching a single handler of a priority doesn't leave
+     * the dispatching thread.
+     * <p>
+     * Use this strategy for events whose handlers are expensive and independent of each other, so the
+     * dispatch takes about as long as the slowest handler of each priority rather than the sum of all.
+     */
+    PARALLEL;
+}
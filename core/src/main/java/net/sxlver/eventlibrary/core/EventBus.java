@@ -0,0 +1,906 @@
+package net.sxlver.eventlibrary.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.IKeyedEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.core.error.ErrorHandler;
+import net.sxlver.eventlibrary.core.budget.TimeBudget;
+import net.sxlver.eventlibrary.core.metrics.MetricsSink;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An independent registry of event handlers.
+ * <p>
+ * Every bus keeps its own handlers, so events dispatched on one bus are never seen by handlers registered
+ * on another. This allows subsystems to use separate buses that neither share state nor contend with each
+ * other. Buses are created through {@link #builder()}, {@link EventLibrary} provides static access to a
+ * default bus.
+ *
+ * @author Steve Oberst
+ * @see    EventLibrary
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class EventBus {
+
+    /**
+     * Maps a {@link HandlerList} to each {@code Event} keeping track of all registered handlers
+     */
+    private final Map<Class<? extends AEvent<?>>, HandlerList<?>> handlerLists = Maps.newConcurrentMap();
+
+    /**
+     * The handler lists of all subtypes of a type, keyed by the type. A list notifies the lists of its subtypes
+     * once its handlers change, so registering a handler for one type never touches the lists of unrelated types.
+     * Sets are kept for types without a list of their own as well, so a list created later still finds them.
+     */
+    private final Map<Class<?>, Set<HandlerList<?>>> subtypeLists = Maps.newConcurrentMap();
+
+    /**
+     * The registrations of all listeners registered through {@link #registerListener(Object)}, keyed by the
+     * identity of the listener.
+     */
+    private final Map<ListenerKey, Registration> registrations = Maps.newConcurrentMap();
+
+    /**
+     * Receives the references of listeners registered through {@link #registerWeakListener(Object)} once they
+     * have been garbage collected. Drained whenever a listener is registered or an event is dispatched.
+     */
+    private final ReferenceQueue<Object> collectedListeners = new ReferenceQueue<>();
+
+    private final Executor executor;
+    private final ErrorHandler errorHandler;
+    private final DispatchStrategy dispatchStrategy;
+    private final Map<Class<?>, DispatchStrategy> dispatchStrategies;
+    private final Executor parallelExecutor;
+    private final MetricsSink metricsSink;
+    private final TimeBudget timeBudget;
+    private final BudgetEnforcer budgetEnforcer;
+    private final StickyEvents stickyEvents;
+
+    EventBus(final Builder builder) {
+        this.executor = builder.executor;
+        this.errorHandler = builder.errorHandler;
+        this.dispatchStrategy = builder.dispatchStrategy;
+        this.dispatchStrategies = Maps.newHashMap(builder.dispatchStrategies);
+        this.parallelExecutor = builder.parallelExecutor;
+        this.metricsSink = builder.metricsSink;
+        this.timeBudget = builder.timeBudget;
+        this.budgetEnforcer = new BudgetEnforcer(this, timeBudget);
+        this.stickyEvents = new StickyEvents(Sets.newHashSet(builder.stickyTypes), builder.maxStickyEvents);
+    }
+
+    /**
+     * Creates a new builder for an {@code EventBus}.
+     *
+     * @return a builder initialised with the default configuration
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates handlers for each method annotated with {@code EventSubscriber} and registers them so that
+     * they will receive events.
+     * <p>
+     * Registering the same instance again has no effect and returns the existing registration. The subscriber
+     * methods of a listener class are only looked up the first time an instance of it is registered.
+     * <p>
+     * The last instance of each {@link Builder#sticky(Class) sticky} event type is passed to the new handlers
+     * right away, in order of their priority.
+     *
+     * @param listener Any object that contains methods annotated with {@link net.sxlver.eventlibrary.common.annotation.EventSubscriber}
+     * @return         a {@link Registration} which can be used to unregister the listener again
+     */
+    public Registration registerListener(final @NonNull Object listener) {
+        return registerListener(listener, null);
+    }
+
+    /**
+     * Registers a listener like {@link #registerListener(Object)}, but without keeping it from being garbage
+     * collected.
+     * <p>
+     * Neither the registration nor the handlers reference the listener strongly, so a listener that is no longer
+     * used anywhere else is collected even if it has never been unregistered. Its handlers are unregistered the
+     * next time a listener is registered or an event is dispatched on this bus. Registering a listener that has
+     * already been registered, weakly or not, returns the existing registration.
+     *
+     * @param listener Any object that contains methods annotated with {@link net.sxlver.eventlibrary.common.annotation.EventSubscriber}
+     * @return         a {@link Registration} which can be used to unregister the listener again
+     */
+    public Registration registerWeakListener(final @NonNull Object listener) {
+        return registerListener(listener, collectedListeners);
+    }
+
+    private Registration registerListener(final Object listener, final ReferenceQueue<Object> queue) {
+        pruneCollectedListeners();
+        final Registration registration = new Registration(this, listener, queue);
+        final Registration existing = registrations.putIfAbsent(new ListenerKey(registration), registration);
+        if (existing != null)
+            return existing;
+
+        for (final ListenerMetadata.Subscriber subscriber : ListenerMetadata.of(listener.getClass()).getSubscribers()) {
+            register(registration, (IEventHandler) subscriber.bind(listener, registration.getReference()));
+        }
+        deliverSticky(registration.getHandlers());
+        return registration;
+    }
+
+    /**
+     * Unregisters the handlers of weakly registered listeners that have been garbage collected since the last call.
+     */
+    private void pruneCollectedListeners() {
+        Reference<?> reference;
+        while ((reference = collectedListeners.poll()) != null) {
+            ((ListenerReference) reference).getRegistration().unregister();
+        }
+    }
+
+    private <T extends AEvent<T>> IEventHandler<T> registerAnonymous(final IEventHandler<T> handler) {
+        pruneCollectedListeners();
+        getOrCreateHandlerList(handler.getEvent()).registerHandler(handler);
+        deliverSticky(Collections.singletonList(handler));
+        return handler;
+    }
+
+    /**
+     * Passes the sticky events kept by this bus to newly registered handlers. Each event is only passed to the
+     * handlers registered for its type or any of its supertypes.
+     */
+    private void deliverSticky(final Collection<? extends IEventHandler<?>> handlers) {
+        if (!stickyEvents.isEnabled() || handlers.isEmpty())
+            return;
+
+        for (final AEvent<?> event : stickyEvents.snapshot()) {
+            final List<IEventHandler<?>> receivers = Lists.newArrayList();
+            for (final IEventHandler<?> handler : handlers) {
+                if (handler.getEvent() != null && handler.getEvent().isInstance(event))
+                    receivers.add(handler);
+            }
+            if (!receivers.isEmpty())
+                getOrCreateHandlerList((Class) event.getClass()).deliver((List) receivers, event);
+        }
+    }
+
+    private <T extends AEvent<T>> void register(final Registration registration, final IEventHandler<T> handler) {
+        registration.register(getOrCreateHandlerList(handler.getEvent()), handler);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerListener(Function, Class, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event) {
+        return registerListener(handler, event, EventPriority.DEFAULT);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     *
+     * @param handler  handler that will be wrapped and registered
+     * @param priority the handlers listening priority
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerListener(Function, Class, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event, final @NonNull EventPriority priority) {
+        return registerListener(handler, event, priority, 1);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     *
+     * @param handler  handler that will be wrapped and registered, not null
+     * @param priority the handlers listening priority, not null
+     * @param weight   the handlers listening weight
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerListener(Function, Class, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                   final int weight) {
+        return registerListener(handler, event, priority, weight, false);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     * <p>
+     * The passed in anonymous class will be wrapped into an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler}
+     * and then registered in the cache. The returned value can be used to keep track of the handler and unregister
+     * it later on.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                   final int weight, final boolean ignoreCancelled) {
+        final IEventHandler<T> eventHandler = HandlerList.makeAnonymousHandler(handler, event, priority, weight, ignoreCancelled);
+        return registerAnonymous(eventHandler);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     * @param filter  the precondition of the handler, not null
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerListener(Function, Class, Predicate, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event, final @NonNull Predicate<? super T> filter) {
+        return registerListener(handler, event, filter, EventPriority.DEFAULT, 1, false);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     * <p>
+     * The handler is only invoked for events accepted by {@code filter}. Rejected events skip the handler without
+     * creating a result. Passing the same filter instance to several handlers evaluates it only once per dispatch.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param filter          the precondition of the handler, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event, final @NonNull Predicate<? super T> filter,
+                                                                   final @NonNull EventPriority priority, final int weight,
+                                                                   final boolean ignoreCancelled) {
+        final IEventHandler<T> eventHandler = HandlerList.makeFilteredHandler(handler, event, filter, priority, weight, ignoreCancelled);
+        return registerAnonymous(eventHandler);
+    }
+
+    /**
+     * Wraps an anonymous asynchronous handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerAsyncListener(Function, Class, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerAsyncListener(final @NonNull Function<T, CompletionStage<IListenerExecutionResult<T>>> handler,
+                                                                        final @NonNull Class<T> event) {
+        return registerAsyncListener(handler, event, EventPriority.DEFAULT, 1, false);
+    }
+
+    /**
+     * Wraps an anonymous asynchronous handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} and registers it.
+     * <p>
+     * Events dispatched through {@link #dispatchEventAsync(AEvent)} only reach the next handler once the stage
+     * returned by the handler has completed, without blocking a thread in the meantime. Events dispatched
+     * synchronously wait for the stage to complete.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see net.sxlver.eventlibrary.api.IAsyncEventHandler
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerAsyncListener(final @NonNull Function<T, CompletionStage<IListenerExecutionResult<T>>> handler,
+                                                                        final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                        final int weight, final boolean ignoreCancelled) {
+        final IEventHandler<T> eventHandler = HandlerList.makeAnonymousAsyncHandler(handler, event, priority, weight, ignoreCancelled);
+        return registerAnonymous(eventHandler);
+    }
+
+    /**
+     * Wraps an anonymous batch handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerBatchListener(Function, Class, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerBatchListener(final @NonNull Function<List<T>, List<IListenerExecutionResult<T>>> handler,
+                                                                        final @NonNull Class<T> event) {
+        return registerBatchListener(handler, event, EventPriority.DEFAULT, 1, false);
+    }
+
+    /**
+     * Wraps an anonymous batch handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} and registers it.
+     * <p>
+     * Batches dispatched through {@link #dispatchBatch(Class, Collection)} are passed to the handler in a single
+     * call, single events are passed as a batch of one. The handler returns the result for each event in order,
+     * or {@code null} if all events have been processed successfully.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see net.sxlver.eventlibrary.api.IBatchEventHandler
+     */
+    public <T extends AEvent<T>> IEventHandler<T> registerBatchListener(final @NonNull Function<List<T>, List<IListenerExecutionResult<T>>> handler,
+                                                                        final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                        final int weight, final boolean ignoreCancelled) {
+        final IEventHandler<T> eventHandler = HandlerList.makeAnonymousBatchHandler(handler, event, priority, weight, ignoreCancelled);
+        return registerAnonymous(eventHandler);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     * @param key     the routing key of the events the handler will receive, not null
+     *
+     * @return a {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see #registerKeyedListener(Function, Class, Object, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T> & IKeyedEvent> IEventHandler<T> registerKeyedListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                                      final @NonNull Class<T> event, final @NonNull Object key) {
+        return registerKeyedListener(handler, event, key, EventPriority.DEFAULT, 1, false);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} and registers it.
+     * <p>
+     * The handler only receives events whose {@link IKeyedEvent#getRoutingKey() routing key} equals {@code key}.
+     * Keyed handlers are indexed by their key, so dispatching an event only invokes the handlers of its key
+     * besides the handlers without a key, no matter how many handlers are registered for other keys.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param key             the routing key of the events the handler will receive, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return a {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see IKeyedEvent
+     */
+    public <T extends AEvent<T> & IKeyedEvent> IEventHandler<T> registerKeyedListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                                      final @NonNull Class<T> event, final @NonNull Object key,
+                                                                                      final @NonNull EventPriority priority, final int weight,
+                                                                                      final boolean ignoreCancelled) {
+        final IEventHandler<T> eventHandler = HandlerList.makeKeyedHandler(handler, event, key, priority, weight, ignoreCancelled);
+        return registerAnonymous(eventHandler);
+    }
+
+    /**
+     * Dispatches the event handlers in an asynchronous context using the executor this bus has been
+     * configured with.
+     * <p>
+     * Returns a {@link CompletableFuture} object which can be used to process the result.
+     *
+     * @param event event to be called
+     * @return      An instance of the {@code CompletableFuture}
+     */
+    public <T extends AEvent<T>> CompletableFuture<IEventResult<T>> dispatchEventAsync(final @NonNull T event) {
+        return dispatchEventAsync(event, executor);
+    }
+
+    /**
+     * Dispatches the event handlers on the given {@code executor}.
+     * <p>
+     * Returns a {@link CompletableFuture} object which can be used to process the result.
+     * <p>
+     * {@link net.sxlver.eventlibrary.api.IAsyncEventHandler Asynchronous handlers} don't block the executor while
+     * their stage is pending. The dispatch is resumed on the executor once the stage has completed, so a single
+     * thread can drive many events at once.
+     *
+     * @param event    event to be called, not null
+     * @param executor executor the handlers will be invoked on, not null
+     * @return         An instance of the {@code CompletableFuture}
+     * @see EventExecutors#virtualThreads()
+     */
+    public <T extends AEvent<T>> CompletableFuture<IEventResult<T>> dispatchEventAsync(final @NonNull T event, final @NonNull Executor executor) {
+        pruneCollectedListeners();
+        final Class<T> type = (Class<T>) event.getClass();
+        final HandlerList<T> handlerList = getOrCreateHandlerList(type);
+        final CompletableFuture<IEventResult<T>> future = handlerList.callHandlersAsync(event, executor);
+        if (handlerList.isSticky()) {
+            future.thenAccept(result -> {
+                if (!result.cancelled())
+                    stickyEvents.put(event);
+            });
+        }
+        return future;
+    }
+
+    /**
+     * Dispatches an {@code event} and invokes all registered handlers.
+     * <p>
+     * Handlers registered for a superclass or an interface of the event receive it as well. They are merged
+     * into a single chain ordered by priority and weight.
+     *
+     * @param event event to be fired, not null
+     * @return      an instance of {@link IEventResult} containing information about how handlers responded to the event.
+     */
+    public <T extends AEvent<T>> IEventResult<T> dispatchEvent(final @NonNull T event) {
+        pruneCollectedListeners();
+        final Class<T> type = (Class<T>) event.getClass();
+        final HandlerList<T> handlerList = getOrCreateHandlerList(type);
+        final IEventResult<T> result = handlerList.callHandlers(event);
+        if (handlerList.isSticky() && !result.cancelled())
+            stickyEvents.put(event);
+        return result;
+    }
+
+    /**
+     * Dispatches an {@code event} without building an {@link IEventResult}.
+     * <p>
+     * Use this method if the only thing of interest is whether the event has been cancelled. Dispatching an
+     * event this way doesn't allocate, given the handlers return the shared results of
+     * {@link net.sxlver.eventlibrary.core.result.ListenerExecutionResult}.
+     *
+     * @param event event to be fired, not null
+     * @return      whether the event has been cancelled by its handlers
+     */
+    public <T extends AEvent<T>> boolean fireEvent(final @NonNull T event) {
+        pruneCollectedListeners();
+        final Class<T> type = (Class<T>) event.getClass();
+        final HandlerList<T> handlerList = getOrCreateHandlerList(type);
+        final boolean cancelled = handlerList.fireHandlers(event);
+        if (handlerList.isSticky() && !cancelled)
+            stickyEvents.put(event);
+        return cancelled;
+    }
+
+    /**
+     * Dispatches a batch of events of the same type.
+     * <p>
+     * The handler chain is resolved once for the whole batch and each handler receives all events before the
+     * next handler is invoked, which is considerably cheaper than dispatching the events one by one. Every
+     * single event still passes the handlers in order of their priority. Instead of an {@link IEventResult}
+     * per event, the returned result only keeps track of which events have been cancelled.
+     *
+     * @param type   the type of events in the batch, not null
+     * @param events the events to be dispatched, all of exactly {@code type}, not null
+     * @return       a result keeping track of which events have been cancelled
+     * @throws IllegalArgumentException if an event is not exactly of {@code type}
+     */
+    public <T extends AEvent<T>> IBatchResult<T> dispatchBatch(final @NonNull Class<T> type, final @NonNull Collection<? extends T> events) {
+        return dispatchBatch0(type, events.toArray());
+    }
+
+    /**
+     * Dispatches a batch of events of the same type.
+     *
+     * @param type   the type of events in the batch, not null
+     * @param events the events to be dispatched, all of exactly {@code type}, not null
+     * @return       a result keeping track of which events have been cancelled
+     * @throws IllegalArgumentException if an event is not exactly of {@code type}
+     * @see #dispatchBatch(Class, Collection)
+     */
+    public <T extends AEvent<T>> IBatchResult<T> dispatchBatch(final @NonNull Class<T> type, final @NonNull T[] events) {
+        return dispatchBatch0(type, events.clone());
+    }
+
+    private <T extends AEvent<T>> IBatchResult<T> dispatchBatch0(final Class<T> type, final Object[] events) {
+        for (final Object event : events) {
+            if (event == null || event.getClass() != type)
+                throw new IllegalArgumentException("Event " + event + " in batch is not of type " + type.getName());
+        }
+        pruneCollectedListeners();
+        final HandlerList<T> handlerList = getOrCreateHandlerList(type);
+        final IBatchResult<T> result = handlerList.callHandlersBatch(events);
+        if (handlerList.isSticky()) {
+            for (int i = events.length - 1; i >= 0; i--) {
+                if (!result.cancelled(i)) {
+                    stickyEvents.put((T) events[i]);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the last event of {@code type} dispatched without being cancelled, if the type is
+     * {@link Builder#sticky(Class) sticky}.
+     *
+     * @param type the exact type of the event, not null
+     * @return     the sticky event of {@code type} or {@code null} if none is kept
+     */
+    public <T extends AEvent<T>> @Nullable T getStickyEvent(final @NonNull Class<T> type) {
+        return type.cast(stickyEvents.get(type));
+    }
+
+    /**
+     * Discards the sticky event of {@code type}, so that handlers registered later on no longer receive it.
+     *
+     * @param type the exact type of the event, not null
+     * @return     the discarded event or {@code null} if none was kept
+     */
+    public <T extends AEvent<T>> @Nullable T removeStickyEvent(final @NonNull Class<T> type) {
+        return type.cast(stickyEvents.remove(type));
+    }
+
+    /**
+     * Unregisters all handlers within the instance so that they will no longer receive any events.
+     * <p>
+     * Prefer keeping the {@link Registration} returned by {@link #registerListener(Object)} and calling
+     * {@link Registration#unregister()} on it, which saves looking up the registration.
+     *
+     * @param listener the instance containing the handlers to be unregistered, not null
+     */
+    public void unregisterListener(final @NonNull Object listener) {
+        final Registration registration = registrations.get(new ListenerKey(listener));
+        if (registration != null)
+            registration.unregister();
+    }
+
+    /**
+     * Disables a single handler, leaving the other handlers of its listener registered.
+     */
+    <T extends AEvent<T>> void disableHandler(final IEventHandler<T> handler) {
+        final Object listener = handler instanceof HandlerList.Handler ? ((HandlerList.Handler<?>) handler).getInst() : null;
+        final Registration registration = listener != null ? registrations.get(new ListenerKey(listener)) : null;
+        if (registration == null || !registration.unregisterHandler(handler))
+            unregisterHandler(handler);
+    }
+
+    void removeRegistration(final Registration registration) {
+        registrations.remove(new ListenerKey(registration), registration);
+    }
+
+    /**
+     * Unregisters a single handler.
+     * <p>
+     * This method can be used to unregister anonymous handlers created through {@link #registerListener(Function, Class, EventPriority, int, boolean)}
+     *
+     * @param handler the handler to be unregistered, not null
+     * @see #registerListener(Function, Class, EventPriority, int, boolean)
+     */
+    public <T extends AEvent<T>> void unregisterHandler(final @NonNull IEventHandler<T> handler) {
+        final HandlerList<T> handlerList = getOrCreateHandlerList(handler.getEvent());
+        handlerList.unregisterHandler(handler);
+    }
+
+    public <T extends AEvent<T>> HandlerList<T> getOrCreateHandlerList(final @NonNull Class<T> cls) {
+        // look up existing lists first, the capturing lambda below would be allocated on every call otherwise
+        final HandlerList<T> handlerList = (HandlerList<T>) handlerLists.get(cls);
+        if (handlerList != null)
+            return handlerList;
+
+        return (HandlerList<T>) handlerLists.computeIfAbsent(cls, type -> {
+            final HandlerList<?> created = new HandlerList<>(this, type);
+            created.link();
+            return created;
+        });
+    }
+
+    <T extends AEvent<T>> HandlerList<T> getHandlerList(final Class<?> cls) {
+        return (HandlerList<T>) handlerLists.get(cls);
+    }
+
+    Set<HandlerList<?>> getSubtypeLists(final Class<?> cls) {
+        final Set<HandlerList<?>> lists = subtypeLists.get(cls);
+        if (lists != null)
+            return lists;
+
+        return subtypeLists.computeIfAbsent(cls, type -> Sets.newSetFromMap(Maps.<HandlerList<?>, Boolean>newConcurrentMap()));
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    public DispatchStrategy getDispatchStrategy() {
+        return dispatchStrategy;
+    }
+
+    /**
+     * Returns the strategy the handlers of {@code type} are dispatched with. Strategies configured for
+     * {@code type} take precedence over strategies configured for any of its supertypes, which take
+     * precedence over the default strategy of the bus.
+     *
+     * @param type       the type of event
+     * @param supertypes the supertypes of {@code type}, nearest first
+     * @return           the strategy for {@code type}
+     */
+    DispatchStrategy getDispatchStrategy(final Class<?> type, final Collection<Class<?>> supertypes) {
+        if (dispatchStrategies.isEmpty())
+            return dispatchStrategy;
+
+        final DispatchStrategy strategy = dispatchStrategies.get(type);
+        if (strategy != null)
+            return strategy;
+
+        for (final Class<?> supertype : supertypes) {
+            final DispatchStrategy inherited = dispatchStrategies.get(supertype);
+            if (inherited != null)
+                return inherited;
+        }
+        return dispatchStrategy;
+    }
+
+    public Executor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    public MetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    public TimeBudget getTimeBudget() {
+        return timeBudget;
+    }
+
+    BudgetEnforcer getBudgetEnforcer() {
+        return budgetEnforcer;
+    }
+
+    boolean isSticky(final Class<?> type, final Collection<Class<?>> supertypes) {
+        return stickyEvents.isSticky(type, supertypes);
+    }
+
+    /**
+     * Compares listeners by identity, so listeners overriding {@code equals} are still told apart.
+     */
+    private static final class ListenerKey {
+        /* null for weak registrations */
+        private final Object listener;
+        /* null for strong registrations */
+        private final Reference<?> reference;
+        private final int hash;
+
+        private ListenerKey(final Object listener) {
+            this.listener = listener;
+            this.reference = null;
+            this.hash = System.identityHashCode(listener);
+        }
+
+        private ListenerKey(final Registration registration) {
+            this.reference = registration.getReference();
+            this.listener = reference == null ? registration.getListener() : null;
+            this.hash = registration.getListenerHash();
+        }
+
+        private Object get() {
+            return reference != null ? reference.get() : listener;
+        }
+
+        /*
+        keys of the same weak registration stay equal after the listener has been collected, so the registration can still be removed
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof ListenerKey))
+                return false;
+
+            final ListenerKey other = (ListenerKey) obj;
+            if (reference != null && reference == other.reference)
+                return true;
+
+            final Object listener = get();
+            return listener != null && listener == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Builder for {@link EventBus} instances.
+     * <p>
+     * A bus built without changing any of the options behaves exactly like the default bus backing
+     * {@link EventLibrary}.
+     */
+    public static final class Builder {
+        private Executor executor = ForkJoinPool.commonPool();
+        private ErrorHandler errorHandler = ErrorHandler.PRINT_STACK_TRACE;
+        private DispatchStrategy dispatchStrategy = DispatchStrategy.SEQUENTIAL;
+        private final Map<Class<?>, DispatchStrategy> dispatchStrategies = Maps.newHashMap();
+        private Executor parallelExecutor = ForkJoinPool.commonPool();
+        private MetricsSink metricsSink = MetricsSink.NOOP;
+        private TimeBudget timeBudget = TimeBudget.UNLIMITED;
+        private final Set<Class<?>> stickyTypes = Sets.newHashSet();
+        private int maxStickyEvents = 64;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the executor events dispatched through {@link EventBus#dispatchEventAsync(AEvent)} are run on.
+         *
+         * @param executor the executor, not null. Defaults to the {@link ForkJoinPool#commonPool() common pool}
+         * @return         this builder
+         */
+        public Builder executor(final @NonNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Dispatches asynchronous events on virtual threads, so that handlers blocking on I/O no longer
+         * occupy a pooled platform thread.
+         *
+         * @return this builder
+         * @see    EventExecutors#virtualThreads()
+         */
+        public Builder useVirtualThreads() {
+            return executor(EventExecutors.virtualThreads());
+        }
+
+        /**
+         * Sets how errors reported or thrown by handlers are dealt with.
+         *
+         * @param errorHandler the error handler, not null. Defaults to {@link ErrorHandler#PRINT_STACK_TRACE}
+         * @return             this builder
+         */
+        public Builder errorHandler(final @NonNull ErrorHandler errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * Sets how the handler chain of an event is walked.
+         *
+         * @param dispatchStrategy the strategy, not null. Defaults to {@link DispatchStrategy#SEQUENTIAL}
+         * @return                 this builder
+         */
+        public Builder dispatchStrategy(final @NonNull DispatchStrategy dispatchStrategy) {
+            this.dispatchStrategy = dispatchStrategy;
+            return this;
+        }
+
+        /**
+         * Sets how the handler chain of events of {@code type}, or any of its subtypes, is walked. This allows
+         * dispatching only selected events through {@link DispatchStrategy#PARALLEL}.
+         *
+         * @param type             the type of event, not null
+         * @param dispatchStrategy the strategy, not null
+         * @return                 this builder
+         */
+        public Builder dispatchStrategy(final @NonNull Class<? extends AEvent<?>> type, final @NonNull DispatchStrategy dispatchStrategy) {
+            this.dispatchStrategies.put(type, dispatchStrategy);
+            return this;
+        }
+
+        /**
+         * Sets the executor handlers are run on by {@link DispatchStrategy#PARALLEL}.
+         *
+         * @param parallelExecutor the executor, not null. Defaults to the {@link ForkJoinPool#commonPool() common pool}
+         * @return                 this builder
+         */
+        public Builder parallelExecutor(final @NonNull Executor parallelExecutor) {
+            this.parallelExecutor = parallelExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the sink measurements taken during dispatch are reported to.
+         *
+         * @param metricsSink the sink, not null. Defaults to {@link MetricsSink#NOOP}, which disables measuring
+         * @return            this builder
+         */
+        public Builder metricsSink(final @NonNull MetricsSink metricsSink) {
+            this.metricsSink = metricsSink;
+            return this;
+        }
+
+        /**
+         * Sets the time handlers and dispatches may take before they are reported as slow.
+         *
+         * @param timeBudget the budget, not null. Defaults to {@link TimeBudget#UNLIMITED}
+         * @return           this builder
+         */
+        public Builder timeBudget(final @NonNull TimeBudget timeBudget) {
+            this.timeBudget = timeBudget;
+            return this;
+        }
+
+        /**
+         * Marks events of {@code type}, or any of its subtypes, sticky.
+         * <p>
+         * The bus keeps the last event of each sticky type that has been dispatched without being cancelled.
+         * Handlers registered later on receive it right away, so components starting late still see the latest
+         * state without the event having to be dispatched to every handler again. Events are kept per exact
+         * type. Handlers must not keep references to the event in order to modify it later, as it is passed
+         * to every handler registered.
+         *
+         * @param type the type of event, not null
+         * @return     this builder
+         * @see        EventBus#getStickyEvent(Class)
+         */
+        public Builder sticky(final @NonNull Class<? extends AEvent<?>> type) {
+            this.stickyTypes.add(type);
+            return this;
+        }
+
+        /**
+         * Sets the number of sticky events kept at most. Once exceeded, the event of the type least recently
+         * dispatched or looked up is discarded.
+         *
+         * @param maxStickyEvents the number of events, positive. Defaults to 64
+         * @return                this builder
+         */
+        public Builder maxStickyEvents(final int maxStickyEvents) {
+            if (maxStickyEvents < 1)
+                throw new IllegalArgumentException("Number of sticky events must be positive.");
+            this.maxStickyEvents = maxStickyEvents;
+            return this;
+        }
+
+        /**
+         * Creates the bus.
+         *
+         * @return a new, empty {@code EventBus}
+         */
+        public EventBus build() {
+            return new EventBus(this);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.sxlver.eventlibrary.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors suited for dispatching events asynchronously.
+ *
+ * @author Steve Oberst
+ * @see    EventBus.Builder#executor(java.util.concurrent.Executor)
+ */
+public final class EventExecutors {
+
+    private EventExecutors() {
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads, i.e. whether it's running on Java 21 or newer.
+     *
+     * @return {@code true} if {@link #virtualThreads()} is backed by virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.FACTORY != null;
+    }
+
+    /**
+     * Returns a shared executor starting a new virtual thread for every task.
+     * <p>
+     * Handlers waiting on I/O only park their virtual thread, so the number of events dispatched concurrently
+     * is no longer limited by the size of a platform thread pool. On JVMs without virtual threads a cached
+     * pool of daemon platform threads is returned instead, which still keeps blocking handlers away from the
+     * common pool.
+     * <p>
+     * The executor is shared by everyone calling this method, so it's only exposed as an {@link Executor} that
+     * can't be shut down.
+     *
+     * @return an executor running each task on its own virtual thread
+     */
+    public static Executor virtualThreads() {
+        return VirtualThreads.SHARED;
+    }
+
+    /**
+     * Holds the virtual thread executor, so it's only resolved once it's actually needed.
+     */
+    private static final class VirtualThreads {
+        private static final Method FACTORY = findFactory();
+        private static final ExecutorService EXECUTOR = createExecutor();
+        private static final Executor SHARED = EXECUTOR::execute;
+
+        private static Method findFactory() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private static ExecutorService createExecutor() {
+            if (FACTORY != null) {
+                try {
+                    return (ExecutorService) FACTORY.invoke(null);
+                } catch (ReflectiveOperationException ignored) {
+                    // fall through to platform threads
+                }
+            }
+            return Executors.newCachedThreadPool(new DaemonThreadFactory("EventLibrary-async-"));
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String prefix;
+
+        private DaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
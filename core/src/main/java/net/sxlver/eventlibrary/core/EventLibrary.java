@@ -1,42 +1,65 @@
 package net.sxlver.eventlibrary.core;
 
-import com.google.common.collect.Maps;
 import lombok.NonNull;
 import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.IKeyedEvent;
 import net.sxlver.eventlibrary.api.annotation.EventPriority;
 import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
 import net.sxlver.eventlibrary.api.result.IEventResult;
 import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
-import net.sxlver.eventlibrary.common.Reflect;
 
-import java.lang.reflect.Method;
 import java.util.Collection;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
-@SuppressWarnings("unchecked")
+/**
+ * Static access to a default {@link EventBus}.
+ * <p>
+ * All methods delegate to the bus returned by {@link #getDefaultBus()}. Code that needs an isolated registry
+ * or a custom configuration should create its own bus through {@link EventBus#builder()}.
+ *
+ * @author Steve Oberst
+ * @see    EventBus
+ */
 public class EventLibrary {
 
+    private static final EventBus DEFAULT_BUS = EventBus.builder().build();
+
     /**
-     * Maps a {@link HandlerList} to each {@code Event} keeping track of all registered handlers
+     * Returns the bus all static methods of this class delegate to.
+     *
+     * @return the default {@link EventBus}
      */
-    private static final Map<Class<? extends AEvent<?>>, HandlerList<?>> HANDLER_LIST_MAP = Maps.newConcurrentMap();
+    public static EventBus getDefaultBus() {
+        return DEFAULT_BUS;
+    }
 
     /**
      * Creates handlers for each method annotated with {@code EventSubscriber} and registers them so that
      * they will receive events.
      *
      * @param listener Any object that contains methods annotated with {@link net.sxlver.eventlibrary.common.annotation.EventSubscriber}
-     * @param <T>      The type of event the handler will receive.
+     * @return         a {@link Registration} which can be used to unregister the listener again
+     */
+    public static Registration registerListener(final Object listener) {
+        return DEFAULT_BUS.registerListener(listener);
+    }
+
+    /**
+     * Registers a listener without keeping it from being garbage collected. Its handlers are unregistered
+     * once the listener has been collected.
+     *
+     * @param listener Any object that contains methods annotated with {@link net.sxlver.eventlibrary.common.annotation.EventSubscriber}
+     * @return         a {@link Registration} which can be used to unregister the listener again
+     * @see EventBus#registerWeakListener(Object)
      */
-    public static <T extends AEvent<T>> void registerListener(final Object listener) {
-        final Collection<Method> subscriber = Reflect.getSubscriber(listener);
-        for (final Method method : subscriber) {
-            final HandlerList.Handler<T> handler = (HandlerList.Handler<T>) HandlerList.makeHandler(listener, method);
-            final HandlerList<T> handlerList = getOrCreateHandlerList(handler.getEvent());
-            handlerList.registerHandler(handler);
-        }
+    public static Registration registerWeakListener(final Object listener) {
+        return DEFAULT_BUS.registerWeakListener(listener);
     }
 
     /**
@@ -109,10 +132,149 @@ public class EventLibrary {
     public static <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
                                                                           final @NonNull Class<T> event, final @NonNull EventPriority priority,
                                                                           final int weight, final boolean ignoreCancelled) {
-        final IEventHandler<T> eventHandler = HandlerList.makeAnonymousHandler(handler, event, priority, weight, ignoreCancelled);
-        final HandlerList<T> handlerList = getOrCreateHandlerList(event);
-        handlerList.registerHandler(eventHandler);
-        return eventHandler;
+        return DEFAULT_BUS.registerListener(handler, event, priority, weight, ignoreCancelled);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     * @param filter  the precondition of the handler, not null
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see EventBus#registerListener(Function, Class, Predicate, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                          final @NonNull Class<T> event, final @NonNull Predicate<? super T> filter) {
+        return DEFAULT_BUS.registerListener(handler, event, filter);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} and registers it.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param filter          the precondition of the handler, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousHandler} wrapping the handler passed in
+     *
+     * @param <T> The type of event the listener will receive
+     * @see EventBus#registerListener(Function, Class, Predicate, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T>> IEventHandler<T> registerListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                          final @NonNull Class<T> event, final @NonNull Predicate<? super T> filter,
+                                                                          final @NonNull EventPriority priority, final int weight,
+                                                                          final boolean ignoreCancelled) {
+        return DEFAULT_BUS.registerListener(handler, event, filter, priority, weight, ignoreCancelled);
+    }
+
+    /**
+     * Wraps an anonymous asynchronous handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} wrapping the handler passed in
+     * @see EventBus#registerAsyncListener(Function, Class, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T>> IEventHandler<T> registerAsyncListener(final @NonNull Function<T, CompletionStage<IListenerExecutionResult<T>>> handler,
+                                                                               final @NonNull Class<T> event) {
+        return DEFAULT_BUS.registerAsyncListener(handler, event);
+    }
+
+    /**
+     * Wraps an anonymous asynchronous handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} and registers it.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousAsyncHandler} wrapping the handler passed in
+     * @see EventBus#registerAsyncListener(Function, Class, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T>> IEventHandler<T> registerAsyncListener(final @NonNull Function<T, CompletionStage<IListenerExecutionResult<T>>> handler,
+                                                                               final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                               final int weight, final boolean ignoreCancelled) {
+        return DEFAULT_BUS.registerAsyncListener(handler, event, priority, weight, ignoreCancelled);
+    }
+
+    /**
+     * Wraps an anonymous batch handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} wrapping the handler passed in
+     * @see EventBus#registerBatchListener(Function, Class, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T>> IEventHandler<T> registerBatchListener(final @NonNull Function<List<T>, List<IListenerExecutionResult<T>>> handler,
+                                                                               final @NonNull Class<T> event) {
+        return DEFAULT_BUS.registerBatchListener(handler, event);
+    }
+
+    /**
+     * Wraps an anonymous batch handler to {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} and registers it.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return an {@link net.sxlver.eventlibrary.core.HandlerList.AnonymousBatchHandler} wrapping the handler passed in
+     * @see EventBus#registerBatchListener(Function, Class, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T>> IEventHandler<T> registerBatchListener(final @NonNull Function<List<T>, List<IListenerExecutionResult<T>>> handler,
+                                                                               final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                               final int weight, final boolean ignoreCancelled) {
+        return DEFAULT_BUS.registerBatchListener(handler, event, priority, weight, ignoreCancelled);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} and registers it.
+     *
+     * @param handler handler that will be wrapped and registered, not null
+     * @param event   the type of event the handler will receive, not null
+     * @param key     the routing key of the events the handler will receive, not null
+     *
+     * @return a {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} wrapping the handler passed in
+     * @see EventBus#registerKeyedListener(Function, Class, Object, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T> & IKeyedEvent> IEventHandler<T> registerKeyedListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                                             final @NonNull Class<T> event, final @NonNull Object key) {
+        return DEFAULT_BUS.registerKeyedListener(handler, event, key);
+    }
+
+    /**
+     * Wraps an anonymous event handler to {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} and registers it.
+     *
+     * @param handler         handler that will be wrapped and registered, not null
+     * @param event           the type of event the handler will receive, not null
+     * @param key             the routing key of the events the handler will receive, not null
+     * @param priority        the handlers listening priority, not null
+     * @param weight          the handlers listening weight
+     * @param ignoreCancelled whether the handler will receive events that have been marked as cancelled
+     *                        by other handlers
+     *
+     * @return a {@link net.sxlver.eventlibrary.core.HandlerList.KeyedHandler} wrapping the handler passed in
+     * @see EventBus#registerKeyedListener(Function, Class, Object, EventPriority, int, boolean)
+     */
+    public static <T extends AEvent<T> & IKeyedEvent> IEventHandler<T> registerKeyedListener(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                                             final @NonNull Class<T> event, final @NonNull Object key,
+                                                                                             final @NonNull EventPriority priority, final int weight,
+                                                                                             final boolean ignoreCancelled) {
+        return DEFAULT_BUS.registerKeyedListener(handler, event, key, priority, weight, ignoreCancelled);
     }
 
     /**
@@ -124,7 +286,21 @@ public class EventLibrary {
      * @return      An instance of the {@code CompletableFuture}
      */
     public static <T extends AEvent<T>> CompletableFuture<IEventResult<T>> dispatchEventAsync(final @NonNull T event) {
-        return CompletableFuture.supplyAsync(() -> dispatchEvent(event));
+        return DEFAULT_BUS.dispatchEventAsync(event);
+    }
+
+    /**
+     * Dispatches the event handlers on the given {@code executor}.
+     * <p>
+     * Returns a {@link CompletableFuture} object which can be used to process the result.
+     *
+     * @param event    event to be called, not null
+     * @param executor executor the handlers will be invoked on, not null
+     * @return         An instance of the {@code CompletableFuture}
+     * @see EventExecutors#virtualThreads()
+     */
+    public static <T extends AEvent<T>> CompletableFuture<IEventResult<T>> dispatchEventAsync(final @NonNull T event, final @NonNull Executor executor) {
+        return DEFAULT_BUS.dispatchEventAsync(event, executor);
     }
 
     /**
@@ -134,9 +310,42 @@ public class EventLibrary {
      * @return      an instance of {@link IEventResult} containing information about how handlers responded to the event.
      */
     public static <T extends AEvent<T>> IEventResult<T> dispatchEvent(final @NonNull T event) {
-        final Class<T> type = (Class<T>) event.getClass();
-        final HandlerList<T> handlerList = getOrCreateHandlerList(type);
-        return handlerList.callHandlers(event);
+        return DEFAULT_BUS.dispatchEvent(event);
+    }
+
+    /**
+     * Dispatches an {@code event} without building an {@link IEventResult}.
+     *
+     * @param event event to be fired, not null
+     * @return      whether the event has been cancelled by its handlers
+     * @see EventBus#fireEvent(AEvent)
+     */
+    public static <T extends AEvent<T>> boolean fireEvent(final @NonNull T event) {
+        return DEFAULT_BUS.fireEvent(event);
+    }
+
+    /**
+     * Dispatches a batch of events of the same type, resolving their handlers only once.
+     *
+     * @param type   the type of events in the batch, not null
+     * @param events the events to be dispatched, all of exactly {@code type}, not null
+     * @return       a result keeping track of which events have been cancelled
+     * @see EventBus#dispatchBatch(Class, Collection)
+     */
+    public static <T extends AEvent<T>> IBatchResult<T> dispatchBatch(final @NonNull Class<T> type, final @NonNull Collection<? extends T> events) {
+        return DEFAULT_BUS.dispatchBatch(type, events);
+    }
+
+    /**
+     * Dispatches a batch of events of the same type, resolving their handlers only once.
+     *
+     * @param type   the type of events in the batch, not null
+     * @param events the events to be dispatched, all of exactly {@code type}, not null
+     * @return       a result keeping track of which events have been cancelled
+     * @see EventBus#dispatchBatch(Class, AEvent[])
+     */
+    public static <T extends AEvent<T>> IBatchResult<T> dispatchBatch(final @NonNull Class<T> type, final @NonNull T[] events) {
+        return DEFAULT_BUS.dispatchBatch(type, events);
     }
 
     /**
@@ -144,15 +353,8 @@ public class EventLibrary {
      *
      * @param listener the instance containing the handlers to be unregistered, not null
      */
-    public static <T extends AEvent<T>> void unregisterListener(final @NonNull Object listener) {
-        final Collection<Method> subscriber = Reflect.getSubscriber(listener);
-        for (final Method method : subscriber) {
-            final Class<T> event = (Class<T>) Reflect.getSubscriberTarget(method);
-            final HandlerList<T> handlerList = getOrCreateHandlerList(event);
-            final IEventHandler<T> handler = handlerList.getHandler(method);
-            if(handler == null) continue;
-            handlerList.unregisterHandler(handler);
-        }
+    public static void unregisterListener(final @NonNull Object listener) {
+        DEFAULT_BUS.unregisterListener(listener);
     }
 
     /**
@@ -164,11 +366,10 @@ public class EventLibrary {
      * @see #registerListener(Function, Class, EventPriority, int, boolean) 
      */
     public static <T extends AEvent<T>> void unregisterHandler(final @NonNull IEventHandler<T> handler) {
-        final HandlerList<T> handlerList = getOrCreateHandlerList(handler.getEvent());
-        handlerList.unregisterHandler(handler);
+        DEFAULT_BUS.unregisterHandler(handler);
     }
 
     public static <T extends AEvent<T>> HandlerList<T> getOrCreateHandlerList(final @NonNull Class<T> cls) {
-        return (HandlerList<T>) HANDLER_LIST_MAP.computeIfAbsent(cls, HandlerList::new);
+        return DEFAULT_BUS.getOrCreateHandlerList(cls);
     }
 }
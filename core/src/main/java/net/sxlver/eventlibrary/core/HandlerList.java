@@ -2,101 +2,945 @@ package net.sxlver.eventlibrary.core;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import net.sxlver.eventlibrary.api.IAsyncEventHandler;
+import net.sxlver.eventlibrary.api.IBatchEventHandler;
 import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.IKeyedEvent;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
 import net.sxlver.eventlibrary.api.result.IEventResult;
 import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
 import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.DispatchContext;
+import net.sxlver.eventlibrary.api.DispatchContextAccess;
 import net.sxlver.eventlibrary.api.annotation.EventPriority;
-import net.sxlver.eventlibrary.api.annotation.Prioritized;
-import net.sxlver.eventlibrary.common.Reflect;
 import net.sxlver.eventlibrary.common.Validator;
-import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
-import net.sxlver.eventlibrary.common.exception.HandlerInstantiationException;
+import net.sxlver.eventlibrary.common.exception.EventException;
 import net.sxlver.eventlibrary.common.exception.HandlerInvocationException;
+import net.sxlver.eventlibrary.core.error.ErrorHandler;
+import net.sxlver.eventlibrary.core.invoke.HandlerInvoker;
+import net.sxlver.eventlibrary.core.invoke.InvokerFactory;
+import net.sxlver.eventlibrary.core.metrics.MetricsSink;
+import net.sxlver.eventlibrary.core.result.BatchResult;
 import net.sxlver.eventlibrary.core.result.EventResult;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.Reference;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 public final class HandlerList<T extends AEvent<T>> {
 
+    /* the number of distinct filters per chain whose results are cached for the duration of a dispatch */
+    private static final int CACHED_FILTERS = 31;
+    /* set in a filter state if the filters of the handler just tested rejected the event */
+    private static final long REJECTED = Long.MIN_VALUE;
+
     private final Comparator<IEventHandler<T>> handlerWeightCmp = Comparator.<IEventHandler<T>>comparingInt(IEventHandler::getPriorityOrdinal)
             .thenComparingInt(IEventHandler::getWeight);
 
+    private final EventBus bus;
+    private final ErrorHandler errorHandler;
+    private final MetricsSink metricsSink;
+    private final boolean metricsEnabled;
+    private final BudgetEnforcer budgetEnforcer;
+    private final long handlerBudgetNanos;
+    private final long eventBudgetNanos;
+    private final boolean offloading;
+    /* whether handlers or dispatches have to be timed, either for metrics or budgets */
+    private final boolean timedHandlers;
+    private final boolean timedDispatches;
+
     private final Class<? extends AEvent<?>> cls;
-    private final Map<HandlerKeyHash<T>, IEventHandler<T>> handlers;
+    private final Collection<Class<?>> supertypes;
+    private final boolean parallel;
+    private final Executor parallelExecutor;
+    /* whether events of this list carry a routing key at all */
+    private final boolean keyedEvents;
+    /* whether the bus keeps the last event of this list for handlers registered later on */
+    private final boolean sticky;
+
+    /**
+     * The handlers registered for exactly {@link #cls}. Handlers are compared by identity, so registering and
+     * unregistering them never has to look at any other handler.
+     */
+    private final Set<IEventHandler<T>> handlers;
 
-    public HandlerList(Class<? extends AEvent<?>> cls) {
+    /**
+     * The lists of the subtypes of {@link #cls}. Their chains contain the handlers of this list as well, so
+     * they are rebuilt along with the chain of this list.
+     */
+    private final Set<HandlerList<?>> subtypeLists;
+
+    /**
+     * The handlers of this list merged with the handlers registered for any supertype of {@link #cls} and
+     * sorted by priority and weight. The chain is rebuilt by the thread registering or unregistering a handler
+     * for {@link #cls} or any of its supertypes, so dispatching never has to sort or copy anything.
+     */
+    private volatile Chain chain;
+
+    HandlerList(final EventBus bus, final Class<? extends AEvent<?>> cls) {
+        this.bus = bus;
+        this.errorHandler = bus.getErrorHandler();
+        this.metricsSink = bus.getMetricsSink();
+        this.metricsEnabled = metricsSink != MetricsSink.NOOP;
         this.cls = cls;
-        this.handlers = Maps.newConcurrentMap();
+        this.supertypes = collectSupertypes(cls);
+        this.budgetEnforcer = bus.getBudgetEnforcer();
+        this.handlerBudgetNanos = budgetEnforcer.getHandlerBudgetNanos(cls, supertypes);
+        this.eventBudgetNanos = budgetEnforcer.getEventBudgetNanos(cls, supertypes);
+        this.offloading = budgetEnforcer.isOffloading();
+        this.timedHandlers = metricsEnabled || handlerBudgetNanos != Long.MAX_VALUE;
+        this.timedDispatches = metricsEnabled || eventBudgetNanos != Long.MAX_VALUE;
+        this.parallel = bus.getDispatchStrategy(cls, supertypes) == DispatchStrategy.PARALLEL;
+        this.parallelExecutor = bus.getParallelExecutor();
+        this.keyedEvents = IKeyedEvent.class.isAssignableFrom(cls);
+        this.sticky = bus.isSticky(cls, supertypes);
+        this.handlers = Sets.newSetFromMap(Maps.<IEventHandler<T>, Boolean>newConcurrentMap());
+        this.subtypeLists = bus.getSubtypeLists(cls);
     }
 
-    void registerHandler(final IEventHandler<T> handler) {
-        final HandlerKeyHash<T> handlerHash = new HandlerKeyHash<>(handler);
-        if (handlers.get(handlerHash) != null)
-            return;
+    /**
+     * Registers this list with the lists of the supertypes of {@link #cls}, including those created later on,
+     * so their changes rebuild the chain of this list, and builds the initial chain.
+     */
+    void link() {
+        for (final Class<?> supertype : supertypes)
+            bus.getSubtypeLists(supertype).add(this);
+        rebuild();
+    }
 
+    private static Collection<Class<?>> collectSupertypes(final Class<?> cls) {
+        final Set<Class<?>> supertypes = new LinkedHashSet<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(cls);
+        while (!pending.isEmpty()) {
+            final Class<?> type = pending.poll();
+            final Class<?> superclass = type.getSuperclass();
+            if (superclass != null && superclass != Object.class && supertypes.add(superclass))
+                pending.add(superclass);
 
-        handlers.put(handlerHash, handler);
+            for (final Class<?> superinterface : type.getInterfaces()) {
+                if (supertypes.add(superinterface))
+                    pending.add(superinterface);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(supertypes));
+    }
+
+    void registerHandler(final IEventHandler<T> handler) {
+        if (handlers.add(handler))
+            handlersChanged();
     }
 
     void unregisterHandler(final IEventHandler<T> handler) {
-        final HandlerKeyHash<T> handlerHash = new HandlerKeyHash<>(handler);
-        handlers.remove(handlerHash);
+        if (handlers.remove(handler))
+            handlersChanged();
+    }
+
+    /**
+     * Rebuilds the chain of this list and of the lists of all subtypes after the handlers of this list changed.
+     */
+    private void handlersChanged() {
+        rebuild();
+        for (final HandlerList<?> subtypeList : subtypeLists)
+            subtypeList.rebuild();
+    }
+
+    /**
+     * Merges the handlers of this list and its supertypes into a new chain. Rebuilds are serialised, and
+     * every change of the handlers is followed by a rebuild, so the chain published last always reflects
+     * all changes made before it.
+     */
+    private synchronized void rebuild() {
+        this.chain = mergeHierarchy();
+    }
+
+    /**
+     * Returns the handlers an event of exactly {@link #cls} is dispatched to, including handlers registered
+     * for its superclasses and interfaces.
+     * <p>
+     * The chain is merged and sorted whenever a handler is registered or unregistered for {@link #cls} or any
+     * of its supertypes, so resolving it is a single volatile read.
+     * <p>
+     * Handlers with a {@link IEventHandler#getRoutingKey() routing key} are not part of the chain, they are
+     * indexed by their key and only merged into the chain of an event carrying that key by {@link #resolve(AEvent)}.
+     */
+    IEventHandler<T>[] resolveChain() {
+        return resolve().handlers;
+    }
+
+    /**
+     * @return whether the bus keeps the last event of this list for handlers registered later on
+     */
+    boolean isSticky() {
+        return sticky;
+    }
+
+    /**
+     * Returns the chain {@code event} is dispatched to, the handlers without a key merged with the handlers
+     * registered for the routing key of the event.
+     */
+    private Chain resolve(final T event) {
+        final Chain chain = resolve();
+        return keyedEvents ? chain.route(((IKeyedEvent) event).getRoutingKey()) : chain;
+    }
+
+    private Chain resolve() {
+        return chain;
+    }
+
+    private Chain mergeHierarchy() {
+        final List<IEventHandler<T>> merged = Lists.newArrayList(handlers);
+        for (final Class<?> supertype : supertypes) {
+            final HandlerList<T> handlerList = bus.getHandlerList(supertype);
+            if (handlerList != null)
+                merged.addAll(handlerList.handlers);
+        }
+
+        final List<IEventHandler<T>> unkeyed = Lists.newArrayListWithCapacity(merged.size());
+        final Map<Object, List<IEventHandler<T>>> keyed = Maps.newHashMap();
+        for (final IEventHandler<T> handler : merged) {
+            final Object key = handler.getRoutingKey();
+            if (key == null) {
+                unkeyed.add(handler);
+            } else if (keyedEvents) {
+                keyed.computeIfAbsent(key, k -> Lists.newArrayList()).add(handler);
+            }
+        }
+
+        final Map<Object, IEventHandler<T>[]> index = Maps.newHashMapWithExpectedSize(keyed.size());
+        for (final Map.Entry<Object, List<IEventHandler<T>>> entry : keyed.entrySet())
+            index.put(entry.getKey(), sort(entry.getValue()));
+        return new Chain(sort(unkeyed), index);
+    }
+
+    private IEventHandler<T>[] sort(final Collection<IEventHandler<T>> handlers) {
+        final IEventHandler<T>[] sorted = handlers.toArray(newHandlerArray(handlers.size()));
+        Arrays.sort(sorted, handlerWeightCmp);
+        return sorted;
+    }
+
+    /**
+     * Merges two sorted arrays of handlers, keeping handlers of equal priority and weight in the order of
+     * {@code first} followed by {@code second}.
+     */
+    private IEventHandler<T>[] merge(final IEventHandler<T>[] first, final IEventHandler<T>[] second) {
+        final IEventHandler<T>[] merged = newHandlerArray(first.length + second.length);
+        int i = 0, j = 0, k = 0;
+        while (i < first.length && j < second.length)
+            merged[k++] = handlerWeightCmp.compare(second[j], first[i]) < 0 ? second[j++] : first[i++];
+        while (i < first.length) merged[k++] = first[i++];
+        while (j < second.length) merged[k++] = second[j++];
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends AEvent<T>> IEventHandler<T>[] newHandlerArray(final int size) {
+        return (IEventHandler<T>[]) new IEventHandler[size];
     }
 
     public IEventResult<T> callHandlers(final T event) {
-        final List<IEventHandler<T>> handlersSorted = handlers.values().stream()
-                .sorted(handlerWeightCmp)
-                .collect(Collectors.toList());
+        if (parallel) {
+            final List<IListenerExecutionResult<T>> executionResults = Lists.newArrayList();
+            return makeResult(event, executionResults, callParallel(event, executionResults));
+        }
+
+        final Chain chain = resolve(event);
+        final IEventHandler<T>[] handlersSorted = chain.handlers;
+        final long start = timedDispatches ? System.nanoTime() : 0L;
 
         boolean cancelled = false;
-        final List<IListenerExecutionResult<T>> executionResults = Lists.newArrayList();
+        final boolean filtered = chain.filtered;
+        long filterState = 0L;
+        final List<IListenerExecutionResult<T>> executionResults = Lists.newArrayListWithCapacity(handlersSorted.length);
+        final DispatchContext context = DispatchContext.current();
 
-        for (final IEventHandler<T> handler : handlersSorted) {
+        for (int i = 0; i < handlersSorted.length; i++) {
+            final IEventHandler<T> handler = handlersSorted[i];
             if(cancelled && !handler.ignoreCancelled()) continue;
-            event.injectHandler(handler);
-            final IListenerExecutionResult<T> result = handler.onEvent(event);
+            if(filtered && (filterState = filter(chain, i, event, filterState)) < 0) continue;
+            final IListenerExecutionResult<T> result = invokeHandler(handler, event, context);
+            if(result == null) continue;
 
             if(result.shouldCancel()) cancelled = true;
             else if(result.shouldContinue()) cancelled = false;
 
-            if(result.error()) {
-                result.getError().printStackTrace();
+            executionResults.add(ListenerExecutionResult.attach(result, handler));
+        }
+
+        if(timedDispatches) {
+            dispatched(cancelled, start);
+        }
+
+        return makeResult(event, executionResults, cancelled);
+    }
+
+    /**
+     * Passes an event that has already been dispatched to handlers registered afterwards, honouring their
+     * priority, routing key and filters just like a regular dispatch.
+     *
+     * @param receivers the newly registered handlers of this list's type or any of its supertypes
+     */
+    void deliver(final List<IEventHandler<T>> receivers, final T event) {
+        final Object key = keyedEvents ? ((IKeyedEvent) event).getRoutingKey() : null;
+        final List<IEventHandler<T>> sorted = Lists.newArrayList(receivers);
+        sorted.sort(handlerWeightCmp);
+
+        boolean cancelled = false;
+        final DispatchContext context = DispatchContext.current();
+        for (final IEventHandler<T> handler : sorted) {
+            if(cancelled && !handler.ignoreCancelled()) continue;
+            if(handler.getRoutingKey() != null && !handler.getRoutingKey().equals(key)) continue;
+            if(!accepts(handler, event)) continue;
+            final IListenerExecutionResult<T> result = invokeHandler(handler, event, context);
+            if(result == null) continue;
+
+            if(result.shouldCancel()) cancelled = true;
+            else if(result.shouldContinue()) cancelled = false;
+        }
+    }
+
+    private boolean accepts(final IEventHandler<T> handler, final T event) {
+        try {
+            for (final Predicate<? super T> filter : handler.getFilters()) {
+                if (!filter.test(event))
+                    return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            handleException(event, handler, e, System.nanoTime());
+            return false;
+        }
+    }
+
+    /**
+     * Invokes the handlers like {@link #callHandlers(AEvent)} but without recording their results.
+     * <p>
+     * As long as the handlers return the shared results of {@link ListenerExecutionResult}, dispatching through
+     * this method does not allocate.
+     *
+     * @return whether the event ended up being cancelled
+     */
+    public boolean fireHandlers(final T event) {
+        if (parallel)
+            return callParallel(event, null);
+
+        final Chain chain = resolve(event);
+        final IEventHandler<T>[] handlersSorted = chain.handlers;
+        final long start = timedDispatches ? System.nanoTime() : 0L;
+
+        boolean cancelled = false;
+        final boolean filtered = chain.filtered;
+        long filterState = 0L;
+        final DispatchContext context = DispatchContext.current();
+        for (int i = 0; i < handlersSorted.length; i++) {
+            final IEventHandler<T> handler = handlersSorted[i];
+            if(cancelled && !handler.ignoreCancelled()) continue;
+            if(filtered && (filterState = filter(chain, i, event, filterState)) < 0) continue;
+            final IListenerExecutionResult<T> result = invokeHandler(handler, event, context);
+            if(result == null) continue;
+
+            if(result.shouldCancel()) cancelled = true;
+            else if(result.shouldContinue()) cancelled = false;
+        }
+
+        if(timedDispatches) {
+            dispatched(cancelled, start);
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Invokes the handlers tier by tier, running the handlers of each priority concurrently on the parallel
+     * executor and joining them before the next tier starts. The results of a tier are applied in order once
+     * all of its handlers have returned.
+     *
+     * @param executionResults collects the results of all handlers if not {@code null}
+     * @return                 whether the event ended up being cancelled
+     * @see DispatchStrategy#PARALLEL
+     */
+    @SuppressWarnings("unchecked")
+    private boolean callParallel(final T event, final List<IListenerExecutionResult<T>> executionResults) {
+        final Chain chain = resolve(event);
+        final IEventHandler<T>[] handlers = chain.handlers;
+        final long start = timedDispatches ? System.nanoTime() : 0L;
+
+        boolean cancelled = false;
+        long filterState = 0L;
+        for (int tier = 0; tier < chain.tiers.length; tier++) {
+            final int from = chain.tiers[tier];
+            final int to = tier + 1 < chain.tiers.length ? chain.tiers[tier + 1] : handlers.length;
+
+            final List<IEventHandler<T>> eligible = Lists.newArrayListWithCapacity(to - from);
+            for (int i = from; i < to; i++) {
+                if (cancelled && !handlers[i].ignoreCancelled()) continue;
+                if (chain.filtered && (filterState = filter(chain, i, event, filterState)) < 0) continue;
+                eligible.add(handlers[i]);
+            }
+            if (eligible.isEmpty()) continue;
+
+            // the last handler of a tier runs on the dispatching thread while the others run on the executor
+            final CompletableFuture<IListenerExecutionResult<T>>[] futures = new CompletableFuture[eligible.size() - 1];
+            for (int i = 0; i < futures.length; i++) {
+                final IEventHandler<T> handler = eligible.get(i);
+                futures[i] = CompletableFuture.supplyAsync(() -> invokeHandler(handler, event), parallelExecutor);
+            }
+
+            final IListenerExecutionResult<T>[] results = new IListenerExecutionResult[eligible.size()];
+            RuntimeException failure = null;
+            try {
+                results[futures.length] = invokeHandler(eligible.get(futures.length), event);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            for (int i = 0; i < futures.length; i++) {
+                try {
+                    results[i] = futures[i].join();
+                } catch (CompletionException e) {
+                    if (failure == null)
+                        failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+            if (failure != null) throw failure;
+
+            for (int i = 0; i < results.length; i++) {
+                final IListenerExecutionResult<T> result = results[i];
+                if (result == null) continue;
+
+                if (result.shouldCancel()) cancelled = true;
+                else if (result.shouldContinue()) cancelled = false;
+
+                if (executionResults != null)
+                    executionResults.add(ListenerExecutionResult.attach(result, eligible.get(i)));
+            }
+        }
+
+        if (timedDispatches) {
+            dispatched(cancelled, start);
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Invokes the handlers for every event of a batch, resolving the handler chain only once.
+     * <p>
+     * The batch is processed handler by handler: each handler receives all events of the batch before the
+     * next handler is invoked. Every single event still passes the handlers in order and is cancelled and
+     * continued just like it would be by {@link #fireHandlers(AEvent)}. {@link IBatchEventHandler}s receive
+     * all events still relevant to them in a single call.
+     * <p>
+     * Handlers with a routing key only receive the events of the batch carrying their key. The events are
+     * grouped by their key once, so a keyed handler only ever looks at the events of its own key.
+     *
+     * @param events the events to be dispatched, all of exactly {@link #cls}
+     * @return       a result keeping track of which events have been cancelled
+     */
+    public IBatchResult<T> callHandlersBatch(final Object[] events) {
+        final Chain chain = resolve();
+        final IEventHandler<T>[] handlersSorted = chain.handlers;
+        final Routed[] routed = keyedEvents && !chain.index.isEmpty() ? chain.route(events) : null;
+        final int routedCount = routed != null ? routed.length : 0;
+        final long start = metricsEnabled ? System.nanoTime() : 0L;
+        final int size = events.length;
+        final BitSet cancelled = new BitSet(size);
+        /* the filter state of each event */
+        final long[] filterStates = chain.filtered ? new long[size] : null;
+        final DispatchContext context = DispatchContext.current();
+
+        /* the handlers without a key and the routed ones are walked in the order of a chain merged from both */
+        for (int h = 0, r = 0; h < handlersSorted.length || r < routedCount; ) {
+            if (r == routedCount || h < handlersSorted.length && handlerWeightCmp.compare(routed[r].handler, handlersSorted[h]) >= 0) {
+                dispatchBatch(chain, handlersSorted[h], filterStates != null ? chain.filterMasks[h] : 0L,
+                        filterStates != null ? chain.uncachedFilters[h] : null, null, events, cancelled, filterStates, context);
+                h++;
+            } else {
+                final Routed handler = routed[r++];
+                dispatchBatch(chain, handler.handler, handler.filterMask, handler.uncachedFilters, handler.events,
+                        events, cancelled, filterStates, context);
+            }
+        }
+
+        if (metricsEnabled) {
+            metricsSink.onBatchDispatched(cls, size, cancelled.cardinality(), System.nanoTime() - start);
+        }
+
+        return new BatchResult<>(events, cancelled);
+    }
+
+    /**
+     * Invokes a handler for the events of a batch relevant to it.
+     *
+     * @param chain           the chain the filters of the handler are part of
+     * @param filterMask      the bits of the handler's filters within the filters of {@code chain}
+     * @param uncachedFilters the filters of the handler that aren't cached, if any
+     * @param group           the events carrying the routing key of the handler, or {@code null} if it
+     *                        receives all events
+     * @param filterStates    the filter state of each event if {@code chain} has filters
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatchBatch(final Chain chain, final IEventHandler<T> handler, final long filterMask,
+                               final Predicate<? super T>[] uncachedFilters, final EventGroup group, final Object[] events,
+                               final BitSet cancelled, final long[] filterStates, final DispatchContext context) {
+        if (handler instanceof IBatchEventHandler) {
+            invokeBatchHandler((IBatchEventHandler<T>) handler, events, cancelled, chain, filterMask, uncachedFilters, group, filterStates);
+            return;
+        }
+
+        final boolean ignoreCancelled = handler.ignoreCancelled();
+        final int count = group != null ? group.size : events.length;
+        for (int n = 0; n < count; n++) {
+            final int i = group != null ? group.indices[n] : n;
+            if (!ignoreCancelled && cancelled.get(i)) continue;
+            if (filterStates != null && (filterStates[i] = filter(chain, handler, filterMask, uncachedFilters, (T) events[i], filterStates[i])) < 0) continue;
+            applyBatchResult(cancelled, i, invokeHandler(handler, (T) events[i], context));
+        }
+    }
+
+    /**
+     * Passes all events of a batch that haven't been cancelled, or all of them if the handler ignores cancelled
+     * events, to a batch handler and applies its results.
+     * <p>
+     * An exception thrown by the handler is reported to the {@link ErrorHandler} once, along with the first
+     * event of the batch, and leaves the state of all events untouched.
+     *
+     * @see #dispatchBatch(Chain, IEventHandler, long, Predicate[], EventGroup, Object[], BitSet, long[], DispatchContext)
+     */
+    @SuppressWarnings("unchecked")
+    private void invokeBatchHandler(final IBatchEventHandler<T> handler, final Object[] events, final BitSet cancelled,
+                                    final Chain chain, final long filterMask, final Predicate<? super T>[] uncachedFilters,
+                                    final EventGroup group, final long[] filterStates) {
+        final boolean ignoreCancelled = handler.ignoreCancelled();
+        final int count = group != null ? group.size : events.length;
+        final int capacity = ignoreCancelled || group != null || filterStates != null ? count : count - cancelled.cardinality();
+        if (capacity == 0) return;
+
+        final int[] indices = new int[capacity];
+        final List<T> batch = Lists.newArrayListWithCapacity(capacity);
+        for (int n = 0; n < count; n++) {
+            final int i = group != null ? group.indices[n] : n;
+            if (!ignoreCancelled && cancelled.get(i)) continue;
+            if (filterStates != null && (filterStates[i] = filter(chain, handler, filterMask, uncachedFilters, (T) events[i], filterStates[i])) < 0) continue;
+            indices[batch.size()] = i;
+            batch.add((T) events[i]);
+        }
+
+        final int size = batch.size();
+        if (size == 0) return;
+
+        final long start = metricsEnabled ? System.nanoTime() : 0L;
+        final List<IListenerExecutionResult<T>> results;
+        final DispatchContext context = DispatchContext.current();
+        final AEvent<?> previousEvent = context.getEvent();
+        final IEventHandler<?> previousHandler = context.getHandler();
+        DispatchContextAccess.set(context, null, handler);
+        try {
+            results = handler.onEvents(Collections.unmodifiableList(batch));
+            if (results != null && results.size() != size)
+                throw new HandlerInvocationException("Batch handler " + handler + " returned " + results.size() + " results for " + size + " events.");
+        } catch (RuntimeException e) {
+            handleException(batch.get(0), handler, e, start);
+            return;
+        } finally {
+            DispatchContextAccess.set(context, previousEvent, previousHandler);
+        }
+
+        if (results != null) {
+            for (int i = 0; i < size; i++) {
+                final IListenerExecutionResult<T> result = results.get(i);
+                if (result != null && result.error()) {
+                    errorHandler.onError(batch.get(i), result);
+                }
+                applyBatchResult(cancelled, indices[i], result);
+            }
+        }
+
+        if (metricsEnabled) {
+            metricsSink.onBatchHandlerInvoked(cls, handler, size, System.nanoTime() - start);
+        }
+    }
+
+    private static void applyBatchResult(final BitSet cancelled, final int index, final IListenerExecutionResult<?> result) {
+        if (result == null) return;
+
+        if (result.shouldCancel()) cancelled.set(index);
+        else if (result.shouldContinue()) cancelled.clear(index);
+    }
+
+    /**
+     * Invokes the handlers without blocking on {@link IAsyncEventHandler}s. The dispatch starts on
+     * {@code executor} and is resumed on it whenever the stage returned by an asynchronous handler completes,
+     * so a single thread can drive any number of events waiting for their handlers.
+     * <p>
+     * Lists dispatched through {@link DispatchStrategy#PARALLEL} are dispatched on {@code executor} as a whole,
+     * waiting for asynchronous handlers of a tier to complete.
+     *
+     * @param event    the event to be dispatched
+     * @param executor the executor the dispatch runs on
+     * @return         a future completed with the result of the dispatch
+     */
+    public CompletableFuture<IEventResult<T>> callHandlersAsync(final T event, final Executor executor) {
+        if (parallel)
+            return CompletableFuture.supplyAsync(() -> callHandlers(event), executor);
+
+        final AsyncDispatch dispatch = new AsyncDispatch(event, resolve(event), executor);
+        executor.execute(dispatch);
+        return dispatch.future;
+    }
+
+    /**
+     * The state of a single dispatch through {@link #callHandlersAsync(AEvent, Executor)}. Handlers are invoked
+     * in a loop until an asynchronous handler returns a stage that hasn't completed yet. The loop is then
+     * resumed on the executor once the stage has completed.
+     */
+    private final class AsyncDispatch implements Runnable {
+        private final T event;
+        private final Chain chain;
+        private final IEventHandler<T>[] handlers;
+        private final Executor executor;
+        private final List<IListenerExecutionResult<T>> executionResults;
+        private final CompletableFuture<IEventResult<T>> future = new CompletableFuture<>();
+        private final long start = metricsEnabled ? System.nanoTime() : 0L;
+        private int index;
+        private boolean cancelled;
+        private long filterState;
+
+        private AsyncDispatch(final T event, final Chain chain, final Executor executor) {
+            this.event = event;
+            this.chain = chain;
+            this.handlers = chain.handlers;
+            this.executor = executor;
+            this.executionResults = Lists.newArrayListWithCapacity(handlers.length);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (index < handlers.length) {
+                    final IEventHandler<T> handler = handlers[index++];
+                    if (cancelled && !handler.ignoreCancelled()) continue;
+                    if (chain.filtered && (filterState = filter(chain, index - 1, event, filterState)) < 0) continue;
+
+                    if (handler instanceof IAsyncEventHandler) {
+                        final long handlerStart = metricsEnabled ? System.nanoTime() : 0L;
+                        final CompletableFuture<IListenerExecutionResult<T>> stage = invokeAsyncHandler((IAsyncEventHandler<T>) handler, event, handlerStart);
+                        if (stage == null) continue;
+
+                        if (!stage.isDone()) {
+                            stage.whenCompleteAsync((result, throwable) -> resume(handler, result, throwable, handlerStart), executor);
+                            return;
+                        }
+                        apply(handler, completeAsyncHandler(handler, event, stage, handlerStart));
+                    } else {
+                        apply(handler, invokeHandler(handler, event));
+                    }
+                }
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+                return;
             }
 
-            event.injectHandler(null);
-            executionResults.add(result);
+            if (metricsEnabled) {
+                metricsSink.onEventDispatched(cls, cancelled, System.nanoTime() - start);
+            }
+            future.complete(makeResult(event, executionResults, cancelled));
         }
 
-        return makeResult(event, executionResults);
+        private void resume(final IEventHandler<T> handler, final IListenerExecutionResult<T> result,
+                            final Throwable throwable, final long handlerStart) {
+            try {
+                final CompletableFuture<IListenerExecutionResult<T>> stage = new CompletableFuture<>();
+                if (throwable != null) stage.completeExceptionally(throwable);
+                else stage.complete(result);
+                apply(handler, completeAsyncHandler(handler, event, stage, handlerStart));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return;
+            }
+            run();
+        }
+
+        private void apply(final IEventHandler<T> handler, final IListenerExecutionResult<T> result) {
+            if (result == null) return;
+
+            if (result.shouldCancel()) cancelled = true;
+            else if (result.shouldContinue()) cancelled = false;
+
+            executionResults.add(ListenerExecutionResult.attach(result, handler));
+        }
     }
 
-    private IEventResult<T> makeResult(final T event, final Collection<IListenerExecutionResult<T>> executionResults) {
-        return new EventResult<>(event, executionResults);
+    /**
+     * Starts an asynchronous handler.
+     *
+     * @return the stage returned by the handler or {@code null} if the handler has thrown and the error
+     *         handler decided to carry on with the dispatch
+     */
+    private CompletableFuture<IListenerExecutionResult<T>> invokeAsyncHandler(final IAsyncEventHandler<T> handler, final T event,
+                                                                          final long start) {
+        final DispatchContext context = DispatchContext.current();
+        final AEvent<?> previousEvent = context.getEvent();
+        final IEventHandler<?> previousHandler = context.getHandler();
+        DispatchContextAccess.set(context, event, handler);
+        try {
+            final CompletionStage<IListenerExecutionResult<T>> stage = handler.onEventAsync(event);
+            if (stage == null)
+                throw new HandlerInvocationException("Asynchronous handler " + handler + " returned no stage.");
+
+            return stage.toCompletableFuture();
+        } catch (RuntimeException e) {
+            handleException(event, handler, e, start);
+            return null;
+        } finally {
+            DispatchContextAccess.set(context, previousEvent, previousHandler);
+        }
     }
 
-    IEventHandler<T> getHandler(final Method method) {
-        return handlers.values().stream().filter(handler -> handler.hashCode() == method.hashCode()).findFirst().orElse(null);
+    /**
+     * Takes the result of a completed asynchronous handler, forwarding errors to the bus' {@link ErrorHandler}
+     * and measurements to its {@link MetricsSink} just like {@link #invokeHandler(IEventHandler, AEvent)}.
+     */
+    private IListenerExecutionResult<T> completeAsyncHandler(final IEventHandler<T> handler, final T event,
+                                                            final CompletableFuture<IListenerExecutionResult<T>> stage,
+                                                            final long start) {
+        final IListenerExecutionResult<T> result;
+        try {
+            result = Validator.checkNotNull(stage.join(), HandlerInvocationException::new);
+        } catch (CompletionException | CancellationException e) {
+            handleException(event, handler, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e, start);
+            return null;
+        } catch (EventException e) {
+            handleException(event, handler, e, start);
+            return null;
+        }
+
+        if(result.error()) {
+            errorHandler.onError(event, result);
+        }
+
+        if(metricsEnabled) {
+            metricsSink.onHandlerInvoked(cls, handler, result, System.nanoTime() - start);
+        }
+
+        return result;
+    }
+
+    /**
+     * Invokes a single handler, forwarding errors to the bus' {@link ErrorHandler} and measurements to its
+     * {@link MetricsSink}.
+     *
+     * @return the handlers result or {@code null} if the handler has thrown and the error handler
+     *         decided to carry on with the dispatch
+     */
+    private IListenerExecutionResult<T> invokeHandler(final IEventHandler<T> handler, final T event) {
+        return invokeHandler(handler, event, DispatchContext.current());
     }
 
-    static <T extends AEvent<T>> IEventHandler<T> makeHandler(final Object instance, final Method method) {
-        final Optional<Prioritized> annotationOp = Reflect.getMethodAnnotation(method, Prioritized.class);
-        final EventSubscriber subscriberAnnotation = Reflect.getMethodAnnotation(method, EventSubscriber.class).orElseThrow(
-                () -> new HandlerInstantiationException("Missing " + EventSubscriber.class + " annotation on " + method.getName() + " in class " + method.getDeclaringClass())
-        );
+    /**
+     * Invokes a single handler like {@link #invokeHandler(IEventHandler, AEvent)}, using the dispatch context
+     * of the calling thread the caller has already looked up.
+     */
+    private IListenerExecutionResult<T> invokeHandler(final IEventHandler<T> handler, final T event, final DispatchContext context) {
+        if (offloading && budgetEnforcer.isOffloaded(handler)) {
+            offload(handler, event);
+            return null;
+        }
+
+        final long start = timedHandlers ? System.nanoTime() : 0L;
+        final IListenerExecutionResult<T> result;
+
+        final AEvent<?> previousEvent = context.getEvent();
+        final IEventHandler<?> previousHandler = context.getHandler();
+        DispatchContextAccess.set(context, event, handler);
+        try {
+            result = Validator.checkNotNull(handler.onEvent(event), HandlerInvocationException::new);
+        } catch (RuntimeException e) {
+            handleException(event, handler, e, start);
+            return null;
+        } finally {
+            DispatchContextAccess.set(context, previousEvent, previousHandler);
+        }
+
+        if(result.error()) {
+            errorHandler.onError(event, result);
+        }
 
-        if (annotationOp.isPresent()) {
-            final Prioritized annotation = annotationOp.get();
-            return new Handler<>(instance, (Class<T>)Reflect.getSubscriberTarget(method), method, annotation.priority(), annotation.weight(), subscriberAnnotation.ignoreCancelled());
+        if(timedHandlers) {
+            final long duration = System.nanoTime() - start;
+            if(metricsEnabled) {
+                metricsSink.onHandlerInvoked(cls, handler, result, duration);
+            }
+            if(duration > handlerBudgetNanos) {
+                budgetEnforcer.handlerExceeded(cls, handler, duration, handlerBudgetNanos);
+            }
         }
-        return new Handler<>(instance, (Class<T>)Reflect.getSubscriberTarget(method), method, EventPriority.DEFAULT, 1, subscriberAnnotation.ignoreCancelled());
+
+        return result;
+    }
+
+    /**
+     * Invokes a handler that has been moved to the asynchronous lane for exceeding its time budget on the
+     * executor of the bus. Its result is discarded apart from errors, which are passed to the bus'
+     * {@link ErrorHandler} as usual.
+     * <p>
+     * There is no dispatch left to abort once the handler runs, so an exception the error handler rethrows is
+     * passed to the uncaught exception handler of the executing thread instead of escaping the task.
+     *
+     * @see net.sxlver.eventlibrary.core.budget.ViolationPolicy#ASYNC
+     */
+    private void offload(final IEventHandler<T> handler, final T event) {
+        bus.getExecutor().execute(() -> {
+            final long start = metricsEnabled ? System.nanoTime() : 0L;
+            final DispatchContext context = DispatchContext.current();
+            final AEvent<?> previousEvent = context.getEvent();
+            final IEventHandler<?> previousHandler = context.getHandler();
+            final IListenerExecutionResult<T> result;
+            DispatchContextAccess.set(context, event, handler);
+            try {
+                result = Validator.checkNotNull(handler.onEvent(event), HandlerInvocationException::new);
+            } catch (RuntimeException e) {
+                try {
+                    handleException(event, handler, e, start);
+                } catch (RuntimeException rethrown) {
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, rethrown);
+                }
+                return;
+            } finally {
+                DispatchContextAccess.set(context, previousEvent, previousHandler);
+            }
+
+            if(result.error()) {
+                errorHandler.onError(event, result);
+            }
+
+            if(metricsEnabled) {
+                metricsSink.onHandlerInvoked(cls, handler, result, System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Evaluates the filters of the handler at {@code index} of {@code chain}. Results of the first
+     * {@link #CACHED_FILTERS} filters of the chain are kept in the state of the dispatch, so a filter shared by
+     * several handlers is only evaluated once per event. A filter that throws is reported like a handler that
+     * has thrown and rejects the event.
+     *
+     * @param state the filters evaluated so far during the dispatch in the lower 31 bits and the filters that
+     *              accepted the event in the 31 bits above
+     * @return      the updated state, negative if the handler is not to be invoked
+     */
+    private long filter(final Chain chain, final int index, final T event, final long state) {
+        return filter(chain, chain.handlers[index], chain.filterMasks[index], chain.uncachedFilters[index], event, state);
+    }
+
+    /**
+     * Evaluates the filters of a handler given by their bits within the filters of {@code chain} and the
+     * filters that aren't cached, as done by {@link #filter(Chain, int, AEvent, long)}.
+     */
+    private long filter(final Chain chain, final IEventHandler<T> handler, final long mask,
+                        final Predicate<? super T>[] uncached, final T event, final long state) {
+        long updated = state & ~REJECTED;
+        try {
+            for (long pending = mask & ~updated; pending != 0; pending &= pending - 1) {
+                final int slot = Long.numberOfTrailingZeros(pending);
+                updated |= 1L << slot;
+                if (chain.filters[slot].test(event))
+                    updated |= 1L << (slot + CACHED_FILTERS);
+            }
+            if (((updated >>> CACHED_FILTERS) & mask) != mask)
+                return updated | REJECTED;
+
+            if (uncached != null) {
+                for (final Predicate<? super T> filter : uncached) {
+                    if (!filter.test(event))
+                        return updated | REJECTED;
+                }
+            }
+        } catch (RuntimeException e) {
+            handleException(event, handler, e, System.nanoTime());
+            return updated | REJECTED;
+        }
+        return updated;
+    }
+
+    /**
+     * Reports a handler that has thrown to the bus' {@link MetricsSink} and passes it on to its {@link ErrorHandler}.
+     */
+    private void handleException(final T event, final IEventHandler<T> handler, final Throwable cause, final long start) {
+        final EventException exception = cause instanceof EventException ? (EventException) cause : new HandlerInvocationException(cause);
+        if(metricsEnabled) {
+            metricsSink.onHandlerFailed(cls, handler, exception, System.nanoTime() - start);
+        }
+        errorHandler.onException(event, handler, exception);
+    }
+
+    /**
+     * Reports a completed dispatch to the bus' {@link MetricsSink} and checks it against the event budget.
+     */
+    private void dispatched(final boolean cancelled, final long start) {
+        final long duration = System.nanoTime() - start;
+        if(metricsEnabled) {
+            metricsSink.onEventDispatched(cls, cancelled, duration);
+        }
+        if(duration > eventBudgetNanos) {
+            budgetEnforcer.eventExceeded(cls, duration, eventBudgetNanos);
+        }
+    }
+
+    /**
+     * Describes a handler for humans, naming the listener class and method of subscriber methods.
+     *
+     * @param handler the handler
+     * @return        {@code ListenerClass#method} for subscriber methods, otherwise the class and identity
+     *                of the handler
+     */
+    public static String describe(final @NonNull IEventHandler<?> handler) {
+        if (handler instanceof Handler) {
+            final Handler<?> subscriber = (Handler<?>) handler;
+            final Object inst = subscriber.getInst();
+            return (inst != null ? inst.getClass().getName() : "<collected>") + "#" + subscriber.getName();
+        }
+        return handler.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(handler));
+    }
+
+    private IEventResult<T> makeResult(final T event, final Collection<IListenerExecutionResult<T>> executionResults, final boolean cancelled) {
+        return new EventResult<>(event, executionResults, cancelled);
+    }
+
+    static <T extends AEvent<T>> IEventHandler<T> makeAnonymousAsyncHandler(final @NonNull Function<T, CompletionStage<IListenerExecutionResult<T>>> handler,
+                                                                            final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                            final int weight, final boolean ignoreCancelled) {
+        return new AnonymousAsyncHandler<>(handler, event, priority, weight, ignoreCancelled);
+    }
+
+    static <T extends AEvent<T>> IEventHandler<T> makeAnonymousBatchHandler(final @NonNull Function<List<T>, List<IListenerExecutionResult<T>>> handler,
+                                                                            final @NonNull Class<T> event, final @NonNull EventPriority priority,
+                                                                            final int weight, final boolean ignoreCancelled) {
+        return new AnonymousBatchHandler<>(handler, event, priority, weight, ignoreCancelled);
+    }
+
+    static <T extends AEvent<T>> IEventHandler<T> makeKeyedHandler(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                   final @NonNull Class<T> event, final @NonNull Object key,
+                                                                   final @NonNull EventPriority priority, final int weight,
+                                                                   final boolean ignoreCancelled) {
+        return new KeyedHandler<>(handler, event, key, priority, weight, ignoreCancelled);
     }
 
     static <T extends AEvent<T>> IEventHandler<T> makeAnonymousHandler(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
@@ -105,27 +949,97 @@ public final class HandlerList<T extends AEvent<T>> {
         return new AnonymousHandler<>(handler, event, priority, weight, ignoreCancelled);
     }
 
+    static <T extends AEvent<T>> IEventHandler<T> makeFilteredHandler(final @NonNull Function<T, IListenerExecutionResult<T>> handler,
+                                                                      final @NonNull Class<T> event, final @NonNull Predicate<? super T> filter,
+                                                                      final @NonNull EventPriority priority, final int weight,
+                                                                      final boolean ignoreCancelled) {
+        return new AnonymousHandler<>(handler, event, filter, priority, weight, ignoreCancelled);
+    }
+
     @Data
     public static class Handler<T extends AEvent<T>> implements IEventHandler<T> {
-        private final Object inst;
+        @Setter(AccessLevel.NONE)
+        private Object inst;
+        /*
+        set instead of inst for listeners registered weakly
+         */
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private Reference<?> reference;
         private final Class<T> event;
+        private final String name;
+        /*
+        null for handlers created from a generated dispatcher
+         */
         private final Method method;
+        private final HandlerInvoker invoker;
         private final EventPriority priority;
         private final int weight;
         private boolean ignoreCancelled;
+        @Setter(AccessLevel.PACKAGE)
+        private List<Predicate<? super T>> filters = Collections.emptyList();
 
         public Handler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull Method method,
                        final @NonNull EventPriority priority, final int weight, final boolean ignoreCancelled) {
+            this(inst, event, method, InvokerFactory.create(method), priority, weight, ignoreCancelled);
+        }
+
+        public Handler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull Method method,
+                       final @NonNull HandlerInvoker invoker, final @NonNull EventPriority priority, final int weight,
+                       final boolean ignoreCancelled) {
+            this(inst, event, method.getName(), method, invoker, priority, weight, ignoreCancelled);
+        }
+
+        public Handler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull String name,
+                       final @NonNull HandlerInvoker invoker, final @NonNull EventPriority priority, final int weight,
+                       final boolean ignoreCancelled) {
+            this(inst, event, name, null, invoker, priority, weight, ignoreCancelled);
+        }
+
+        private Handler(final Object inst, final Class<T> event, final String name, final Method method,
+                        final HandlerInvoker invoker, final EventPriority priority, final int weight,
+                        final boolean ignoreCancelled) {
             this.inst = inst;
             this.event = event;
+            this.name = name;
             this.method = method;
+            this.invoker = invoker;
             this.priority = priority;
             this.weight = weight;
             this.ignoreCancelled = ignoreCancelled;
         }
 
+        /**
+         * Makes this handler reference its listener weakly, so it does not keep the listener from being
+         * garbage collected.
+         */
+        void weaken(final Reference<?> reference) {
+            this.reference = reference;
+            this.inst = null;
+        }
+
+        /**
+         * @return the listener or {@code null} if it has been registered weakly and garbage collected
+         */
+        public @Nullable Object getInst() {
+            return reference != null ? reference.get() : inst;
+        }
+
         private IListenerExecutionResult<T> invoke(final T event) {
-            return Validator.checkNotNull((IListenerExecutionResult<T>) Reflect.invoke(inst, method, event), HandlerInvocationException::new);
+            final Object inst = getInst();
+            /* the listener has been collected but not pruned yet */
+            if (inst == null)
+                return ListenerExecutionResult.success(event);
+            return Validator.checkNotNull((IListenerExecutionResult<T>) invokeSubscriber(inst, event), HandlerInvocationException::new);
+        }
+
+        Object invokeSubscriber(final Object inst, final Object argument) {
+            try {
+                return invoker.invoke(inst, argument);
+            } catch (Throwable throwable) {
+                final String message = "Method " + name + " of class " + inst.getClass().getSimpleName() + " has thrown an exception.";
+                throw new EventException(message, throwable);
+            }
         }
 
         @Override
@@ -148,12 +1062,136 @@ public final class HandlerList<T extends AEvent<T>> {
             return invoke(event);
         }
 
+        /*
+        handlers are identified by their instance. Two instances of the same listener each get their own handler
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj;
+        }
+
         @Override
         public int hashCode() {
-            return method.hashCode();
+            return System.identityHashCode(this);
         }
     }
 
+    /**
+     * A handler for a subscriber method annotated with {@code @EventSubscriber(batch = true)}. Single events
+     * are passed to the subscriber as a batch of one.
+     */
+    public static class BatchHandler<T extends AEvent<T>> extends Handler<T> implements IBatchEventHandler<T> {
+
+        public BatchHandler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull Method method,
+                            final @NonNull HandlerInvoker invoker, final @NonNull EventPriority priority, final int weight,
+                            final boolean ignoreCancelled) {
+            super(inst, event, method, invoker, priority, weight, ignoreCancelled);
+        }
+
+        public BatchHandler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull String name,
+                            final @NonNull HandlerInvoker invoker, final @NonNull EventPriority priority, final int weight,
+                            final boolean ignoreCancelled) {
+            super(inst, event, name, invoker, priority, weight, ignoreCancelled);
+        }
+
+        @Override
+        public List<IListenerExecutionResult<T>> onEvents(final List<T> events) {
+            final Object inst = getInst();
+            if (inst == null)
+                return null;
+            return (List<IListenerExecutionResult<T>>) invokeSubscriber(inst, events);
+        }
+
+        @Override
+        public IListenerExecutionResult<T> onEvent(final T event) {
+            return singleResult(event, onEvents(Collections.singletonList(event)));
+        }
+    }
+
+    /**
+     * A handler for a subscriber method returning a {@link CompletionStage}. Events dispatched synchronously
+     * wait for the stage to complete.
+     */
+    public static class AsyncHandler<T extends AEvent<T>> extends Handler<T> implements IAsyncEventHandler<T> {
+
+        public AsyncHandler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull Method method,
+                            final @NonNull HandlerInvoker invoker, final @NonNull EventPriority priority, final int weight,
+                            final boolean ignoreCancelled) {
+            super(inst, event, method, invoker, priority, weight, ignoreCancelled);
+        }
+
+        public AsyncHandler(final @NonNull Object inst, final @NonNull Class<T> event, final @NonNull String name,
+                            final @NonNull HandlerInvoker invoker, final @NonNull EventPriority priority, final int weight,
+                            final boolean ignoreCancelled) {
+            super(inst, event, name, invoker, priority, weight, ignoreCancelled);
+        }
+
+        @Override
+        public CompletionStage<IListenerExecutionResult<T>> onEventAsync(final T event) {
+            final Object inst = getInst();
+            if (inst == null)
+                return CompletableFuture.completedFuture(ListenerExecutionResult.success(event));
+            return (CompletionStage<IListenerExecutionResult<T>>) invokeSubscriber(inst, event);
+        }
+
+        @Override
+        public IListenerExecutionResult<T> onEvent(final T event) {
+            return awaitResult(onEventAsync(event));
+        }
+    }
+
+    public static class AnonymousAsyncHandler<T extends AEvent<T>> extends AnonymousHandler<T> implements IAsyncEventHandler<T> {
+
+        private final Function<T, CompletionStage<IListenerExecutionResult<T>>> handler;
+
+        public AnonymousAsyncHandler(final @NonNull Function<T, CompletionStage<IListenerExecutionResult<T>>> handler, final @NonNull Class<T> event,
+                                     final @NonNull EventPriority priority, final int weight, final boolean ignoreCancelled) {
+            super(e -> awaitResult(handler.apply(e)), event, priority, weight, ignoreCancelled);
+            this.handler = handler;
+        }
+
+        @Override
+        public CompletionStage<IListenerExecutionResult<T>> onEventAsync(final T event) {
+            return handler.apply(event);
+        }
+    }
+
+    private static <T extends AEvent<T>> IListenerExecutionResult<T> awaitResult(final CompletionStage<IListenerExecutionResult<T>> stage) {
+        Validator.checkNotNull(stage, HandlerInvocationException::new);
+        try {
+            return Validator.checkNotNull(stage.toCompletableFuture().join(), HandlerInvocationException::new);
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof EventException ? (EventException) cause : new HandlerInvocationException(cause);
+        }
+    }
+
+    public static class AnonymousBatchHandler<T extends AEvent<T>> extends AnonymousHandler<T> implements IBatchEventHandler<T> {
+
+        private final Function<List<T>, List<IListenerExecutionResult<T>>> handler;
+
+        public AnonymousBatchHandler(final @NonNull Function<List<T>, List<IListenerExecutionResult<T>>> handler, final @NonNull Class<T> event,
+                                     final @NonNull EventPriority priority, final int weight, final boolean ignoreCancelled) {
+            super(e -> singleResult(e, handler.apply(Collections.singletonList(e))), event, priority, weight, ignoreCancelled);
+            this.handler = handler;
+        }
+
+        @Override
+        public List<IListenerExecutionResult<T>> onEvents(final List<T> events) {
+            return handler.apply(events);
+        }
+    }
+
+    private static <T extends AEvent<T>> IListenerExecutionResult<T> singleResult(final T event, final List<IListenerExecutionResult<T>> results) {
+        if (results == null)
+            return ListenerExecutionResult.success(event);
+
+        if (results.size() != 1)
+            throw new HandlerInvocationException("Batch handler returned " + results.size() + " results for 1 event.");
+
+        return Validator.checkNotNull(results.get(0), HandlerInvocationException::new);
+    }
+
     public static class AnonymousHandler<T extends AEvent<T>> implements IEventHandler<T> {
 
         private final Function<T, IListenerExecutionResult<T>> handler;
@@ -161,6 +1199,7 @@ public final class HandlerList<T extends AEvent<T>> {
         private final int weight;
         private final boolean ignoreCancelled;
         private final Class<T> event;
+        private final List<Predicate<? super T>> filters;
 
         public AnonymousHandler(final @NonNull Function<T, IListenerExecutionResult<T>> handler, final @NonNull Class<T> event,
                                 final @NonNull EventPriority priority, final int weight, final boolean ignoreCancelled) {
@@ -169,6 +1208,18 @@ public final class HandlerList<T extends AEvent<T>> {
             this.priority = priority;
             this.weight = weight;
             this.ignoreCancelled = ignoreCancelled;
+            this.filters = Collections.emptyList();
+        }
+
+        public AnonymousHandler(final @NonNull Function<T, IListenerExecutionResult<T>> handler, final @NonNull Class<T> event,
+                                final @NonNull Predicate<? super T> filter, final @NonNull EventPriority priority, final int weight,
+                                final boolean ignoreCancelled) {
+            this.handler = handler;
+            this.event = event;
+            this.priority = priority;
+            this.weight = weight;
+            this.ignoreCancelled = ignoreCancelled;
+            this.filters = Collections.singletonList(filter);
         }
 
         @Override
@@ -201,39 +1252,245 @@ public final class HandlerList<T extends AEvent<T>> {
             return ignoreCancelled;
         }
 
+        @Override
+        public List<Predicate<? super T>> getFilters() {
+            return filters;
+        }
+
         @Override
         public int hashCode() {
             return super.hashCode();
         }
     }
 
-    private static class HandlerKeyHash<T extends AEvent<T>> {
-        private static int SALT = ThreadLocalRandom.current().nextInt(99);
-        private IEventHandler<T> handler;
-        private final int hash;
+    /**
+     * An anonymous handler only receiving {@link IKeyedEvent}s with a certain routing key.
+     */
+    public static class KeyedHandler<T extends AEvent<T>> extends AnonymousHandler<T> {
 
-        public HandlerKeyHash(final IEventHandler<T> handler) {
-            this.handler = handler;
-            this.hash = handler.hashCode() + SALT;
-        }
+        private final Object key;
 
-        public static int getHash(final Method method) {
-            return method.hashCode() + SALT;
+        public KeyedHandler(final @NonNull Function<T, IListenerExecutionResult<T>> handler, final @NonNull Class<T> event,
+                            final @NonNull Object key, final @NonNull EventPriority priority, final int weight,
+                            final boolean ignoreCancelled) {
+            super(handler, event, priority, weight, ignoreCancelled);
+            this.key = key;
         }
 
         @Override
-        public boolean equals(final Object obj) {
-            if (obj instanceof Number)
-                return hash == ((Number)obj).intValue();
-            else if (!(obj instanceof HandlerList.HandlerKeyHash))
-                return false;
+        public Object getRoutingKey() {
+            return key;
+        }
+    }
+
+    private final class Chain {
+        private final IEventHandler<T>[] handlers;
+
+        /**
+         * The index of the first handler of each priority within {@link #handlers}.
+         */
+        private final int[] tiers;
+
+        /**
+         * The sorted handlers with a routing key, by key.
+         */
+        private final Map<Object, Route> index;
+
+        /**
+         * Whether any handler of the chain, keyed or not, has filters. The filter arrays are {@code null} otherwise.
+         */
+        private final boolean filtered;
+
+        /**
+         * The distinct filters of all handlers including the keyed ones, the results of the first {@link #CACHED_FILTERS} of which are
+         * cached for the duration of a dispatch.
+         */
+        private final Predicate<? super T>[] filters;
+
+        /**
+         * For each handler the bits of its filters within {@link #filters}, as far as they are cached.
+         */
+        private final long[] filterMasks;
+
+        /**
+         * For each handler the filters that aren't cached, {@code null} if there are none.
+         */
+        private final Predicate<? super T>[][] uncachedFilters;
 
-            return obj.hashCode() == hash;
+        /**
+         * The chains of the keys dispatched so far, merged from {@link #handlers} and the handlers of the key.
+         * Only keys handlers have been registered for are cached, so the cache never outgrows the index.
+         */
+        private final ConcurrentMap<Object, Chain> routes;
+
+        private Chain(final IEventHandler<T>[] handlers, final Map<Object, IEventHandler<T>[]> index) {
+            this.handlers = handlers;
+            this.tiers = collectTiers(handlers);
+            this.index = Maps.newHashMapWithExpectedSize(index.size());
+            this.routes = index.isEmpty() ? null : Maps.newConcurrentMap();
+
+            final Map<Predicate<? super T>, Integer> slots = Maps.newIdentityHashMap();
+            final long[] filterMasks = new long[handlers.length];
+            final Predicate<? super T>[][] uncachedFilters = new Predicate[handlers.length][];
+            assignFilters(handlers, slots, filterMasks, uncachedFilters);
+
+            /* keyed handlers share the slots, so a batch can cache their filters along with all others */
+            for (final Map.Entry<Object, IEventHandler<T>[]> entry : index.entrySet()) {
+                final IEventHandler<T>[] keyed = entry.getValue();
+                final Route route = new Route(keyed, new long[keyed.length], new Predicate[keyed.length][]);
+                assignFilters(keyed, slots, route.filterMasks, route.uncachedFilters);
+                this.index.put(entry.getKey(), route);
+            }
+
+            this.filtered = !slots.isEmpty();
+            this.filters = filtered ? new Predicate[slots.size()] : null;
+            this.filterMasks = filtered ? filterMasks : null;
+            this.uncachedFilters = filtered ? uncachedFilters : null;
+            if (filtered) {
+                for (final Map.Entry<Predicate<? super T>, Integer> entry : slots.entrySet())
+                    filters[entry.getValue()] = entry.getKey();
+            }
         }
 
-        @Override
-        public int hashCode() {
-            return hash;
+        /**
+         * @param key the routing key of an event
+         * @return    the chain an event with {@code key} is dispatched to
+         */
+        private Chain route(final Object key) {
+            if (key == null || routes == null)
+                return this;
+
+            final Chain route = routes.get(key);
+            if (route != null)
+                return route;
+
+            final Route keyed = index.get(key);
+            if (keyed == null)
+                return this;
+
+            final Chain created = new Chain(merge(handlers, keyed.handlers), Collections.emptyMap());
+            final Chain existing = routes.putIfAbsent(key, created);
+            return existing != null ? existing : created;
+        }
+
+        /**
+         * Groups the events of a batch by their routing key.
+         *
+         * @param events the events of a batch
+         * @return       the sorted handlers of all keys carried by any of {@code events}, each along with the
+         *               events carrying its key, or {@code null} if there are none
+         */
+        @SuppressWarnings("unchecked")
+        private Routed[] route(final Object[] events) {
+            /* linked to keep handlers of equal priority and weight in the order their keys first appear */
+            final Map<Object, EventGroup> groups = Maps.newLinkedHashMap();
+            int count = 0;
+            for (int i = 0; i < events.length; i++) {
+                final Object key = ((IKeyedEvent) events[i]).getRoutingKey();
+                if (key == null) continue;
+
+                EventGroup group = groups.get(key);
+                if (group == null) {
+                    final Route route = index.get(key);
+                    groups.put(key, group = new EventGroup(route));
+                    if (route != null) count += route.handlers.length;
+                }
+                if (group.route != null)
+                    group.add(i);
+            }
+            if (count == 0)
+                return null;
+
+            final Routed[] routed = (Routed[]) new HandlerList.Routed[count];
+            int n = 0;
+            for (final EventGroup group : groups.values()) {
+                final Route route = group.route;
+                if (route == null) continue;
+
+                for (int i = 0; i < route.handlers.length; i++)
+                    routed[n++] = new Routed(route.handlers[i], route.filterMasks[i], route.uncachedFilters[i], group);
+            }
+            Arrays.sort(routed, (first, second) -> handlerWeightCmp.compare(first.handler, second.handler));
+            return routed;
+        }
+
+        private void assignFilters(final IEventHandler<T>[] handlers, final Map<Predicate<? super T>, Integer> slots,
+                                   final long[] filterMasks, final Predicate<? super T>[][] uncachedFilters) {
+            for (int i = 0; i < handlers.length; i++) {
+                final List<Predicate<? super T>> uncached = Lists.newArrayList();
+                for (final Predicate<? super T> filter : handlers[i].getFilters()) {
+                    Integer slot = slots.get(filter);
+                    if (slot == null && slots.size() < CACHED_FILTERS)
+                        slots.put(filter, slot = slots.size());
+
+                    if (slot != null) filterMasks[i] |= 1L << slot;
+                    else uncached.add(filter);
+                }
+                if (!uncached.isEmpty())
+                    uncachedFilters[i] = uncached.toArray(new Predicate[0]);
+            }
+        }
+
+        private int[] collectTiers(final IEventHandler<?>[] handlers) {
+            final int[] tiers = new int[handlers.length];
+            int count = 0;
+            for (int i = 0; i < handlers.length; i++) {
+                if (i == 0 || handlers[i].getPriorityOrdinal() != handlers[i - 1].getPriorityOrdinal())
+                    tiers[count++] = i;
+            }
+            return Arrays.copyOf(tiers, count);
+        }
+    }
+
+    /**
+     * The sorted handlers of a routing key along with their filters within the chain indexing them.
+     */
+    private final class Route {
+        private final IEventHandler<T>[] handlers;
+        private final long[] filterMasks;
+        private final Predicate<? super T>[][] uncachedFilters;
+
+        private Route(final IEventHandler<T>[] handlers, final long[] filterMasks, final Predicate<? super T>[][] uncachedFilters) {
+            this.handlers = handlers;
+            this.filterMasks = filterMasks;
+            this.uncachedFilters = uncachedFilters;
+        }
+    }
+
+    /**
+     * A handler with a routing key taking part in a batch, along with the events of the batch carrying its key.
+     */
+    private final class Routed {
+        private final IEventHandler<T> handler;
+        private final long filterMask;
+        private final Predicate<? super T>[] uncachedFilters;
+        private final EventGroup events;
+
+        private Routed(final IEventHandler<T> handler, final long filterMask, final Predicate<? super T>[] uncachedFilters,
+                       final EventGroup events) {
+            this.handler = handler;
+            this.filterMask = filterMask;
+            this.uncachedFilters = uncachedFilters;
+            this.events = events;
+        }
+    }
+
+    /**
+     * The indices of the events of a batch sharing a routing key, in the order of the batch.
+     */
+    private final class EventGroup {
+        private final Route route;
+        private int[] indices = new int[4];
+        private int size;
+
+        private EventGroup(final Route route) {
+            this.route = route;
+        }
+
+        private void add(final int index) {
+            if (size == indices.length)
+                indices = Arrays.copyOf(indices, size << 1);
+            indices[size++] = index;
         }
     }
 }
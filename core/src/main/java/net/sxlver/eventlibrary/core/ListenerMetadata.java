@@ -0,0 +1,199 @@
+package net.sxlver.eventlibrary.core;
+
+import lombok.Data;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.annotation.Prioritized;
+import net.sxlver.eventlibrary.common.EventFilter;
+import net.sxlver.eventlibrary.common.Reflect;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.common.exception.HandlerInstantiationException;
+import net.sxlver.eventlibrary.core.invoke.GeneratedDispatcher;
+import net.sxlver.eventlibrary.core.invoke.GeneratedSubscriber;
+import net.sxlver.eventlibrary.core.invoke.HandlerInvoker;
+import net.sxlver.eventlibrary.core.invoke.InvokerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
+
+/**
+ * The validated subscriber methods of a listener class.
+ * <p>
+ * Scanning a listener class, reading its annotations and building an invoker for each subscriber is only
+ * done the first time an instance of the class is registered. The result is stored in a {@link ClassValue},
+ * so registering further instances of a known class does no reflection at all. The invokers take the listener
+ * as argument and are therefore shared by all instances of the class.
+ * <p>
+ * If a {@link GeneratedDispatcher} has been generated for the class at compile time, its subscribers are
+ * used instead and the class is not scanned at all.
+ *
+ * @author Steve Oberst
+ * @see    EventBus#registerListener(Object)
+ */
+final class ListenerMetadata {
+
+    private static final ClassValue<ListenerMetadata> CACHE = new ClassValue<ListenerMetadata>() {
+        @Override
+        protected ListenerMetadata computeValue(final Class<?> type) {
+            return new ListenerMetadata(type);
+        }
+    };
+
+    /*
+    a single instance per filter class, shared by all subscribers referencing it so it's only evaluated once per dispatch
+     */
+    private static final ClassValue<EventFilter<?>> FILTERS = new ClassValue<EventFilter<?>>() {
+        @Override
+        protected EventFilter<?> computeValue(final Class<?> type) {
+            try {
+                final Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return (EventFilter<?>) constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new HandlerInstantiationException("Could not instantiate filter " + type.getName() +
+                        ", filters have to declare a constructor without parameters.", e);
+            }
+        }
+    };
+
+    private final List<Subscriber> subscribers;
+
+    private ListenerMetadata(final Class<?> type) {
+        final List<Subscriber> subscribers = new ArrayList<>();
+        final GeneratedDispatcher dispatcher = findDispatcher(type);
+        if (dispatcher != null) {
+            for (final GeneratedSubscriber subscriber : dispatcher.getSubscribers())
+                subscribers.add(Subscriber.of(subscriber));
+        } else {
+            for (final Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(EventSubscriber.class))
+                    subscribers.add(Subscriber.of(method));
+            }
+        }
+        this.subscribers = Collections.unmodifiableList(subscribers);
+    }
+
+    /*
+    only looked up once per listener class as the metadata is cached in a ClassValue, nothing else keeps a reference to
+    the dispatchers, so they don't prevent their class loader from being unloaded. A provider that fails to load is
+    skipped, its listener class is scanned reflectively instead
+     */
+    private static GeneratedDispatcher findDispatcher(final Class<?> type) {
+        final ClassLoader loader = type.getClassLoader();
+        if (loader == null)
+            return null;
+
+        final Iterator<GeneratedDispatcher> dispatchers = ServiceLoader.load(GeneratedDispatcher.class, loader).iterator();
+        while (true) {
+            try {
+                if (!dispatchers.hasNext())
+                    return null;
+                final GeneratedDispatcher dispatcher = dispatchers.next();
+                if (dispatcher.getListenerType() == type)
+                    return dispatcher;
+            } catch (ServiceConfigurationError ignored) {
+                /* the iterator has already moved past the broken provider */
+            }
+        }
+    }
+
+    /**
+     * Returns the metadata of {@code type}, scanning the class if it hasn't been seen before.
+     *
+     * @param type the listener class
+     * @return     the cached metadata of the class
+     */
+    static ListenerMetadata of(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    List<Subscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * A validated subscriber method together with its prebuilt invoker and the configuration read from its
+     * annotations.
+     */
+    @Data
+    static final class Subscriber {
+        private final String name;
+        private final Method method;
+        private final Class<?> event;
+        private final HandlerInvoker invoker;
+        private final EventPriority priority;
+        private final int weight;
+        private final boolean ignoreCancelled;
+        private final boolean batch;
+        private final boolean async;
+        private final List<Predicate<?>> filters;
+
+        private static Subscriber of(final Method method) {
+            final Class<?> event = Reflect.getSubscriberTarget(method);
+            final EventSubscriber subscriber = method.getAnnotation(EventSubscriber.class);
+            final Prioritized prioritized = method.getAnnotation(Prioritized.class);
+            final EventPriority priority = prioritized != null ? prioritized.priority() : EventPriority.DEFAULT;
+            final int weight = prioritized != null ? prioritized.weight() : 1;
+            return new Subscriber(method.getName(), method, event, InvokerFactory.create(method), priority, weight,
+                    subscriber.ignoreCancelled(), subscriber.batch(), CompletionStage.class.isAssignableFrom(method.getReturnType()),
+                    filters(subscriber.filter()));
+        }
+
+        private static Subscriber of(final GeneratedSubscriber subscriber) {
+            return new Subscriber(subscriber.getName(), null, subscriber.getEvent(), subscriber.getInvoker(),
+                    subscriber.getPriority(), subscriber.getWeight(), subscriber.isIgnoreCancelled(), subscriber.isBatch(),
+                    subscriber.isAsync(), filters(subscriber.getFilters()));
+        }
+
+        private static List<Predicate<?>> filters(final Class<?>[] types) {
+            if (types.length == 0)
+                return Collections.emptyList();
+
+            final List<Predicate<?>> filters = new ArrayList<>(types.length);
+            for (final Class<?> type : types)
+                filters.add(FILTERS.get(type));
+            return Collections.unmodifiableList(filters);
+        }
+
+        /**
+         * Creates a handler invoking this subscriber on {@code instance}.
+         *
+         * @param instance  an instance of the listener class
+         * @param reference a weak reference to {@code instance} if the handler must not keep it alive, otherwise {@code null}
+         * @return          a new handler bound to {@code instance}
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        <T extends AEvent<T>> IEventHandler<T> bind(final Object instance, final @Nullable Reference<?> reference) {
+            final HandlerList.Handler<T> handler;
+            if (async && method == null)
+                handler = new HandlerList.AsyncHandler<>(instance, (Class<T>) event, name, invoker, priority, weight, ignoreCancelled);
+            else if (async)
+                handler = new HandlerList.AsyncHandler<>(instance, (Class<T>) event, method, invoker, priority, weight, ignoreCancelled);
+            else if (batch && method == null)
+                handler = new HandlerList.BatchHandler<>(instance, (Class<T>) event, name, invoker, priority, weight, ignoreCancelled);
+            else if (batch)
+                handler = new HandlerList.BatchHandler<>(instance, (Class<T>) event, method, invoker, priority, weight, ignoreCancelled);
+            else if (method == null)
+                handler = new HandlerList.Handler<>(instance, (Class<T>) event, name, invoker, priority, weight, ignoreCancelled);
+            else
+                handler = new HandlerList.Handler<>(instance, (Class<T>) event, method, invoker, priority, weight, ignoreCancelled);
+
+            if (!filters.isEmpty())
+                handler.setFilters((List) filters);
+            if (reference != null)
+                handler.weaken(reference);
+            return handler;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package net.sxlver.eventlibrary.core;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Weak reference to a listener registered through {@link EventBus#registerWeakListener(Object)}.
+ * <p>
+ * The reference is shared by the registration and all handlers of the listener. Once the listener has been
+ * collected, the reference is enqueued and leads the bus straight to the registration to unregister, so
+ * pruning collected listeners never has to look at any other handler.
+ *
+ * @author Steve Oberst
+ */
+final class ListenerReference extends WeakReference<Object> {
+
+    private final Registration registration;
+
+    ListenerReference(final Object listener, final ReferenceQueue<Object> queue, final Registration registration) {
+        super(listener, queue);
+        this.registration = registration;
+    }
+
+    Registration getRegistration() {
+        return registration;
+    }
+}
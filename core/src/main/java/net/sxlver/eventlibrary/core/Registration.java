@@ -0,0 +1,137 @@
+package net.sxlver.eventlibrary.core;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Handle to all handlers created for a single listener by {@link EventBus#registerListener(Object)}.
+ * <p>
+ * The registration references the handlers and the lists they have been registered in directly, so
+ * unregistering a listener through {@link #unregister()} neither has to reflect over the listener nor
+ * search for its handlers.
+ * <p>
+ * Listeners registered through {@link EventBus#registerWeakListener(Object)} are only referenced weakly.
+ * Their registration is unregistered by the bus once the listener has been garbage collected.
+ *
+ * @author Steve Oberst
+ * @see    EventBus#registerListener(Object)
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class Registration {
+
+    private final EventBus bus;
+    /* null for weak registrations */
+    private final Object listener;
+    /* null for strong registrations */
+    private final ListenerReference reference;
+    private final int listenerHash;
+    private final List<HandlerList<?>> handlerLists = new ArrayList<>();
+    private final List<IEventHandler<?>> handlers = new ArrayList<>();
+    private volatile boolean registered = true;
+
+    Registration(final EventBus bus, final Object listener, final @Nullable ReferenceQueue<Object> queue) {
+        this.bus = bus;
+        this.listener = queue == null ? listener : null;
+        this.reference = queue == null ? null : new ListenerReference(listener, queue, this);
+        this.listenerHash = System.identityHashCode(listener);
+    }
+
+    synchronized <T extends AEvent<T>> void register(final HandlerList<T> handlerList, final IEventHandler<T> handler) {
+        if (!registered)
+            return;
+
+        handlerLists.add(handlerList);
+        handlers.add(handler);
+        handlerList.registerHandler(handler);
+    }
+
+    /**
+     * Unregisters all handlers of the listener. Calling this method more than once has no effect.
+     */
+    public synchronized void unregister() {
+        if (!registered)
+            return;
+
+        registered = false;
+        bus.removeRegistration(this);
+        for (int i = 0; i < handlers.size(); i++) {
+            ((HandlerList) handlerLists.get(i)).unregisterHandler((IEventHandler) handlers.get(i));
+        }
+    }
+
+    /**
+     * Unregisters a single handler of the listener, unregistering the whole registration along with its last
+     * handler.
+     *
+     * @return whether the handler belonged to this registration
+     */
+    synchronized boolean unregisterHandler(final IEventHandler<?> handler) {
+        if (!registered)
+            return false;
+
+        /* handlers compare by value, the very instance has to be removed */
+        for (int i = 0; i < handlers.size(); i++) {
+            if (handlers.get(i) != handler) continue;
+
+            if (handlers.size() == 1) {
+                unregister();
+            } else {
+                handlers.remove(i);
+                ((HandlerList) handlerLists.remove(i)).unregisterHandler((IEventHandler) handler);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the handlers of this registration still receive events.
+     *
+     * @return {@code false} once {@link #unregister()} has been called
+     */
+    public boolean isRegistered() {
+        return registered;
+    }
+
+    /**
+     * Returns the listener the handlers have been created for.
+     *
+     * @return the listener or {@code null} if it has been registered weakly and garbage collected
+     */
+    public @Nullable Object getListener() {
+        return reference != null ? reference.get() : listener;
+    }
+
+    /**
+     * Returns whether the listener is only referenced weakly.
+     *
+     * @return {@code true} if the listener has been registered through {@link EventBus#registerWeakListener(Object)}
+     */
+    public boolean isWeak() {
+        return reference != null;
+    }
+
+    @Nullable ListenerReference getReference() {
+        return reference;
+    }
+
+    int getListenerHash() {
+        return listenerHash;
+    }
+
+    /**
+     * Returns the handlers created for each subscriber method of the listener.
+     *
+     * @return an unmodifiable view of the handlers
+     */
+    public synchronized Collection<IEventHandler<?>> getHandlers() {
+        return Collections.unmodifiableList(new ArrayList<>(handlers));
+    }
+}
@@ -0,0 +1,72 @@
+package net.sxlver.eventlibrary.core;
+
+import com.google.common.collect.Lists;
+import net.sxlver.eventlibrary.api.AEvent;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The last instance dispatched of each sticky event type of a bus.
+ * <p>
+ * Types are sticky if they, or any of their supertypes, have been marked sticky when the bus was built. At most
+ * {@code capacity} events are kept, the event of the type least recently dispatched or looked up being evicted
+ * first.
+ *
+ * @author Steve Oberst
+ */
+final class StickyEvents {
+
+    private final Set<Class<?>> types;
+    private final Map<Class<?>, AEvent<?>> events;
+
+    StickyEvents(final Set<Class<?>> types, final int capacity) {
+        this.types = types;
+        this.events = new LinkedHashMap<Class<?>, AEvent<?>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Class<?>, AEvent<?>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return !types.isEmpty();
+    }
+
+    boolean isSticky(final Class<?> type, final Collection<Class<?>> supertypes) {
+        if (types.isEmpty())
+            return false;
+
+        if (types.contains(type))
+            return true;
+
+        for (final Class<?> supertype : supertypes) {
+            if (types.contains(supertype))
+                return true;
+        }
+        return false;
+    }
+
+    synchronized void put(final AEvent<?> event) {
+        events.put(event.getClass(), event);
+    }
+
+    synchronized AEvent<?> get(final Class<?> type) {
+        return events.get(type);
+    }
+
+    synchronized AEvent<?> remove(final Class<?> type) {
+        return events.remove(type);
+    }
+
+    /**
+     * @return the events currently kept, least recently used first
+     */
+    synchronized List<AEvent<?>> snapshot() {
+        return Lists.newArrayList(events.values());
+    }
+}
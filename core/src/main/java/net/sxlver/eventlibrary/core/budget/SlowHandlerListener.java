@@ -0,0 +1,94 @@
+package net.sxlver.eventlibrary.core.budget;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.core.HandlerList;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Is notified about handlers and dispatches exceeding their {@link TimeBudget}.
+ * <p>
+ * Listeners are called on the dispatching thread right after the budget has been exceeded and should
+ * therefore return as quickly as possible. Handlers are passed as they are, listeners only reporting some of
+ * the violations should only {@link HandlerList#describe(IEventHandler) describe} the handlers they report.
+ *
+ * @author Steve Oberst
+ * @see    TimeBudget.Builder#listener(SlowHandlerListener)
+ */
+public interface SlowHandlerListener {
+
+    /**
+     * Prints a warning naming the slow handler, or the slow event, to {@link System#err}.
+     * <p>
+     * A handler is reported on its first violation and then whenever its number of violations has doubled, and
+     * slow dispatches are reported at most once per second, so a handler exceeding its budget on every event
+     * doesn't flood the output nor slow down the dispatching thread any further. Applied policies are always
+     * reported.
+     */
+    SlowHandlerListener PRINT = new SlowHandlerListener() {
+        private final AtomicLong nextDispatchReport = new AtomicLong(System.nanoTime());
+
+        @Override
+        public void onSlowHandler(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                  final long durationNanos, final long budgetNanos, final int violations) {
+            /* powers of two only */
+            if ((violations & (violations - 1)) != 0) return;
+
+            System.err.printf("Handler %s took %.3fms to handle %s, exceeding its budget of %.3fms (%d violations)%n",
+                    HandlerList.describe(handler), durationNanos / 1e6, event.getName(), budgetNanos / 1e6, violations);
+        }
+
+        @Override
+        public void onSlowDispatch(final Class<? extends AEvent<?>> event, final long durationNanos, final long budgetNanos) {
+            final long now = System.nanoTime();
+            final long next = nextDispatchReport.get();
+            if (now - next < 0 || !nextDispatchReport.compareAndSet(next, now + TimeUnit.SECONDS.toNanos(1))) return;
+
+            System.err.printf("Dispatching %s took %.3fms, exceeding its budget of %.3fms%n",
+                    event.getName(), durationNanos / 1e6, budgetNanos / 1e6);
+        }
+
+        @Override
+        public void onPolicyApplied(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                    final ViolationPolicy policy) {
+            System.err.printf("Handler %s exceeded its budget too often and has been moved to policy %s%n",
+                    HandlerList.describe(handler), policy);
+        }
+    };
+
+    /**
+     * Called after a handler has exceeded its budget.
+     *
+     * @param event         the type of event dispatched
+     * @param handler       the slow handler
+     * @param durationNanos the time the handler took
+     * @param budgetNanos   the budget of the handler
+     * @param violations    the number of times the handler has exceeded its budget, including this one
+     */
+    void onSlowHandler(Class<? extends AEvent<?>> event, IEventHandler<?> handler, long durationNanos,
+                       long budgetNanos, int violations);
+
+    /**
+     * Called after an event has taken longer than its budget to pass all of its handlers.
+     *
+     * @param event         the type of event dispatched
+     * @param durationNanos the time the whole dispatch took
+     * @param budgetNanos   the budget of the event
+     */
+    default void onSlowDispatch(final Class<? extends AEvent<?>> event, final long durationNanos, final long budgetNanos) {
+    }
+
+    /**
+     * Called after a {@link ViolationPolicy} other than {@link ViolationPolicy#REPORT} has been applied to a
+     * handler.
+     *
+     * @param event   the type of event dispatched
+     * @param handler the handler the policy has been applied to
+     * @param policy  the policy applied
+     */
+    default void onPolicyApplied(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                 final ViolationPolicy policy) {
+    }
+}
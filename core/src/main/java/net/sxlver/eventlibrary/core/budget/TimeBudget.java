@@ -0,0 +1,223 @@
+package net.sxlver.eventlibrary.core.budget;
+
+import com.google.common.collect.Maps;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budgets for handlers and whole dispatches of an {@link net.sxlver.eventlibrary.core.EventBus}.
+ * <p>
+ * Handlers invoked on the dispatching thread can't be interrupted, so budgets are checked once a handler
+ * has returned: handlers exceeding their budget are reported to the {@link SlowHandlerListener}, naming the
+ * listener class and method. Once a handler has exceeded its budget {@link Builder#maxViolations(int, ViolationPolicy)
+ * too often}, it can be disabled or moved off the dispatching thread, so a single misbehaving handler can't keep
+ * stalling every dispatch.
+ * <p>
+ * Budgets only cover synchronous dispatches. Event budgets aren't checked for
+ * {@link net.sxlver.eventlibrary.core.EventBus#dispatchBatch(Class, java.util.Collection) batches} nor for
+ * {@link net.sxlver.eventlibrary.core.EventBus#dispatchEventAsync(AEvent) asynchronous dispatches}, and
+ * {@link net.sxlver.eventlibrary.api.IBatchEventHandler batch handlers} as well as
+ * {@link net.sxlver.eventlibrary.api.IAsyncEventHandler asynchronous handlers} are not subject to handler budgets.
+ * <pre>{@code
+ * final EventBus bus = EventBus.builder()
+ *         .timeBudget(TimeBudget.builder()
+ *                 .handlerBudget(2, TimeUnit.MILLISECONDS)
+ *                 .eventBudget(TickEvent.class, 10, TimeUnit.MILLISECONDS)
+ *                 .maxViolations(5, ViolationPolicy.ASYNC)
+ *                 .build())
+ *         .build();
+ * }</pre>
+ *
+ * @author Steve Oberst
+ * @see    net.sxlver.eventlibrary.core.EventBus.Builder#timeBudget(TimeBudget)
+ */
+public final class TimeBudget {
+
+    /**
+     * No budgets at all. Buses using it don't take any measurements for budgets.
+     */
+    public static final TimeBudget UNLIMITED = builder().build();
+
+    private final long handlerBudgetNanos;
+    private final Map<Class<?>, Long> handlerBudgets;
+    private final long eventBudgetNanos;
+    private final Map<Class<?>, Long> eventBudgets;
+    private final int maxViolations;
+    private final ViolationPolicy violationPolicy;
+    private final SlowHandlerListener listener;
+
+    private TimeBudget(final Builder builder) {
+        this.handlerBudgetNanos = builder.handlerBudgetNanos;
+        this.handlerBudgets = Collections.unmodifiableMap(Maps.newHashMap(builder.handlerBudgets));
+        this.eventBudgetNanos = builder.eventBudgetNanos;
+        this.eventBudgets = Collections.unmodifiableMap(Maps.newHashMap(builder.eventBudgets));
+        this.maxViolations = builder.maxViolations;
+        this.violationPolicy = builder.violationPolicy;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Creates a new builder for a {@code TimeBudget}.
+     *
+     * @return a builder without any budgets
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the budget of every single handler in nanoseconds, {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getHandlerBudgetNanos() {
+        return handlerBudgetNanos;
+    }
+
+    /**
+     * @return handler budgets in nanoseconds configured for specific event types and their subtypes
+     */
+    public Map<Class<?>, Long> getHandlerBudgets() {
+        return handlerBudgets;
+    }
+
+    /**
+     * @return the budget of a whole dispatch in nanoseconds, {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getEventBudgetNanos() {
+        return eventBudgetNanos;
+    }
+
+    /**
+     * @return event budgets in nanoseconds configured for specific event types and their subtypes
+     */
+    public Map<Class<?>, Long> getEventBudgets() {
+        return eventBudgets;
+    }
+
+    /**
+     * @return the number of violations after which the violation policy is applied to a handler
+     */
+    public int getMaxViolations() {
+        return maxViolations;
+    }
+
+    public ViolationPolicy getViolationPolicy() {
+        return violationPolicy;
+    }
+
+    public SlowHandlerListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Builder for {@link TimeBudget} instances.
+     */
+    public static final class Builder {
+        private long handlerBudgetNanos = Long.MAX_VALUE;
+        private final Map<Class<?>, Long> handlerBudgets = Maps.newHashMap();
+        private long eventBudgetNanos = Long.MAX_VALUE;
+        private final Map<Class<?>, Long> eventBudgets = Maps.newHashMap();
+        private int maxViolations = Integer.MAX_VALUE;
+        private ViolationPolicy violationPolicy = ViolationPolicy.REPORT;
+        private SlowHandlerListener listener = SlowHandlerListener.PRINT;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the time every single handler may take to handle an event.
+         *
+         * @param budget the budget, positive
+         * @param unit   the unit of {@code budget}, not null
+         * @return       this builder
+         */
+        public Builder handlerBudget(final long budget, final @NonNull TimeUnit unit) {
+            this.handlerBudgetNanos = toNanos(budget, unit);
+            return this;
+        }
+
+        /**
+         * Sets the time every single handler may take to handle an event of {@code type}, or any of its subtypes.
+         * Takes precedence over {@link #handlerBudget(long, TimeUnit)}.
+         *
+         * @param type   the type of event, not null
+         * @param budget the budget, positive
+         * @param unit   the unit of {@code budget}, not null
+         * @return       this builder
+         */
+        public Builder handlerBudget(final @NonNull Class<? extends AEvent<?>> type, final long budget, final @NonNull TimeUnit unit) {
+            this.handlerBudgets.put(type, toNanos(budget, unit));
+            return this;
+        }
+
+        /**
+         * Sets the time an event may take to pass all of its handlers.
+         *
+         * @param budget the budget, positive
+         * @param unit   the unit of {@code budget}, not null
+         * @return       this builder
+         */
+        public Builder eventBudget(final long budget, final @NonNull TimeUnit unit) {
+            this.eventBudgetNanos = toNanos(budget, unit);
+            return this;
+        }
+
+        /**
+         * Sets the time an event of {@code type}, or any of its subtypes, may take to pass all of its handlers.
+         * Takes precedence over {@link #eventBudget(long, TimeUnit)}.
+         *
+         * @param type   the type of event, not null
+         * @param budget the budget, positive
+         * @param unit   the unit of {@code budget}, not null
+         * @return       this builder
+         */
+        public Builder eventBudget(final @NonNull Class<? extends AEvent<?>> type, final long budget, final @NonNull TimeUnit unit) {
+            this.eventBudgets.put(type, toNanos(budget, unit));
+            return this;
+        }
+
+        /**
+         * Applies {@code policy} to handlers once they have exceeded their budget {@code maxViolations} times.
+         *
+         * @param maxViolations the number of violations tolerated, positive
+         * @param policy        the policy, not null. Defaults to {@link ViolationPolicy#REPORT}
+         * @return              this builder
+         */
+        public Builder maxViolations(final int maxViolations, final @NonNull ViolationPolicy policy) {
+            if (maxViolations < 1)
+                throw new IllegalArgumentException("Number of violations must be positive.");
+            this.maxViolations = maxViolations;
+            this.violationPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified about violations.
+         *
+         * @param listener the listener, not null. Defaults to {@link SlowHandlerListener#PRINT}
+         * @return         this builder
+         */
+        public Builder listener(final @NonNull SlowHandlerListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        private static long toNanos(final long budget, final TimeUnit unit) {
+            if (budget <= 0)
+                throw new IllegalArgumentException("Budget must be positive.");
+            return unit.toNanos(budget);
+        }
+
+        /**
+         * Creates the time budget.
+         *
+         * @return a new {@code TimeBudget}
+         */
+        public TimeBudget build() {
+            return new TimeBudget(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package net.sxlver.eventlibrary.core.budget;
+
+/**
+ * Determines what happens to a handler that has exceeded its time budget too often.
+ *
+ * @author Steve Oberst
+ * @see    TimeBudget.Builder#maxViolations(int, ViolationPolicy)
+ */
+public enum ViolationPolicy {
+    /**
+     * Violations are only reported, the handler stays untouched.
+     */
+    REPORT,
+
+    /**
+     * The handler is unregistered from the bus. Other handlers of its listener stay registered, and the
+     * {@link net.sxlver.eventlibrary.core.Registration} of the listener is unregistered along with its last
+     * handler, so the listener can be registered again.
+     */
+    DISABLE,
+
+    /**
+     * The handler is moved to an asynchronous lane: it keeps receiving events, but is invoked on the executor
+     * of the bus instead of the dispatching thread. Its results are discarded, so it can no longer cancel or
+     * continue events, and it may still be running while the event is passed to the following handlers.
+     * Handlers moved to the asynchronous lane therefore must only read the events they receive.
+     */
+    ASYNC;
+}
@@ -0,0 +1,309 @@
+package net.sxlver.eventlibrary.core.coalesce;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Collapses high-frequency events sharing a key into a single dispatch to an {@link EventBus}.
+ * <p>
+ * Events of a coalesced type are not dispatched right away but kept by their key, as extracted by the
+ * function configured for the type. An event submitted while another one of the same key is pending replaces
+ * it, or is merged with it if a merge function has been configured. A single thread dispatches the pending
+ * events once per {@link Builder#window(long, TimeUnit) window}, so the handlers of a type run at most once
+ * per key and window no matter how many events have been submitted. Events submitted while the previous
+ * events are still being dispatched are coalesced until the next window.
+ * <p>
+ * Events of types not configured, as well as events without a key, are dispatched on the submitting thread
+ * through {@link EventBus#fireEvent(AEvent)}. A type configured covers its subtypes as well.
+ *
+ * @author Steve Oberst
+ */
+public final class EventCoalescer implements AutoCloseable {
+
+    private static final AtomicInteger COALESCER_COUNTER = new AtomicInteger();
+    private static final Stage<?> NONE = new Stage<>(null, null, null);
+
+    private final EventBus bus;
+    private final List<Stage<?>> stages;
+    private final ConcurrentMap<Class<?>, Stage<?>> stagesByType = Maps.newConcurrentMap();
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private EventCoalescer(final Builder builder) {
+        this.bus = builder.bus;
+        this.stages = Lists.newArrayList();
+        for (final Stage<?> stage : builder.stages.values())
+            stages.add(stage.copy());
+
+        final ThreadFactory threadFactory = builder.threadFactory != null ? builder.threadFactory : defaultThreadFactory();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.scheduleWithFixedDelay(this::endWindow, builder.windowNanos, builder.windowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a new builder for a coalescer dispatching to {@code bus}.
+     *
+     * @param bus the bus events will be dispatched to, not null
+     * @return    a builder initialised with the default configuration
+     */
+    public static Builder builder(final @NonNull EventBus bus) {
+        return new Builder(bus);
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        final int coalescer = COALESCER_COUNTER.incrementAndGet();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "EventLibrary-coalescer-" + coalescer);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Submits an event to be dispatched with the next window, coalescing it with the pending event of its key.
+     *
+     * @param event the event to be dispatched, not null
+     * @return      {@code true} if the event has been coalesced with an event already pending
+     * @throws IllegalStateException if the coalescer has been closed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public boolean submit(final @NonNull AEvent<?> event) {
+        if (closed)
+            throw new IllegalStateException("Coalescer has been closed.");
+
+        final Stage stage = stageOf(event.getClass());
+        final Object key = stage == NONE ? null : stage.key.apply(event);
+        if (key == null) {
+            bus.fireEvent((AEvent) event);
+            return false;
+        }
+
+        final boolean coalesced = stage.pending.putIfAbsent(key, event) != null;
+        if (coalesced)
+            stage.pending.merge(key, event, stage.combiner);
+
+        /* close may have run its final flush since closed was checked, the event must not be left behind */
+        if (closed)
+            flush();
+        return coalesced;
+    }
+
+    private Stage<?> stageOf(final Class<?> type) {
+        final Stage<?> cached = stagesByType.get(type);
+        if (cached != null)
+            return cached;
+
+        return stagesByType.computeIfAbsent(type, cls -> {
+            for (final Stage<?> stage : stages) {
+                if (stage.type.isAssignableFrom(cls))
+                    return stage;
+            }
+            return NONE;
+        });
+    }
+
+    /**
+     * Dispatches the pending events at the end of a window. Anything thrown is passed to the uncaught exception
+     * handler of the dispatching thread, as throwing would cancel all windows to come.
+     */
+    private void endWindow() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+    }
+
+    /**
+     * Dispatches all pending events right away instead of waiting for the end of the window.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void flush() {
+        dispatchLock.lock();
+        try {
+            for (final Stage<?> stage : stages) {
+                for (final Object key : stage.pending.keySet()) {
+                    final AEvent event = stage.pending.remove(key);
+                    if (event == null)
+                        continue;
+
+                    try {
+                        bus.fireEvent(event);
+                    } catch (RuntimeException e) {
+                        final Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                    }
+                }
+            }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of events currently waiting to be dispatched
+     */
+    public int size() {
+        int size = 0;
+        for (final Stage<?> stage : stages)
+            size += stage.pending.size();
+        return size;
+    }
+
+    /**
+     * @return the number of events that have been replaced by or merged with a newer event of the same key
+     */
+    public long getCoalescedCount() {
+        long coalesced = 0;
+        for (final Stage<?> stage : stages)
+            coalesced += stage.coalesced.get();
+        return coalesced;
+    }
+
+    /**
+     * Stops accepting new events, dispatches the events still pending and stops the dispatching thread. Events
+     * submitted concurrently are dispatched by their submitting thread.
+     * <p>
+     * The wait isn't interruptible, an interrupt received meanwhile is restored once the thread has stopped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * The pending events of a coalesced type by their key.
+     */
+    private static final class Stage<T extends AEvent<?>> {
+        private final Class<T> type;
+        private final Function<? super T, ?> key;
+        private final BinaryOperator<T> merge;
+        private final ConcurrentMap<Object, T> pending = Maps.newConcurrentMap();
+        private final BinaryOperator<T> combiner = this::combine;
+        private final AtomicLong coalesced = new AtomicLong();
+
+        private Stage(final Class<T> type, final Function<? super T, ?> key, final BinaryOperator<T> merge) {
+            this.type = type;
+            this.key = key;
+            this.merge = merge;
+        }
+
+        private Stage<T> copy() {
+            return new Stage<>(type, key, merge);
+        }
+
+        private T combine(final T older, final T newer) {
+            coalesced.incrementAndGet();
+            return merge.apply(older, newer);
+        }
+    }
+
+    /**
+     * Builder for {@link EventCoalescer} instances.
+     */
+    public static final class Builder {
+        private final EventBus bus;
+        private final Map<Class<?>, Stage<?>> stages = Maps.newLinkedHashMap();
+        private long windowNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        private ThreadFactory threadFactory;
+
+        Builder(final EventBus bus) {
+            this.bus = bus;
+        }
+
+        /**
+         * Coalesces events of {@code type}, or any of its subtypes, sharing a key. A newer event replaces the
+         * event of its key still pending.
+         *
+         * @param type the type of event, not null
+         * @param key  extracts the key of an event, not null. Events without a key are dispatched right away
+         * @return     this builder
+         */
+        public <T extends AEvent<?>> Builder coalesce(final @NonNull Class<T> type, final @NonNull Function<? super T, ?> key) {
+            return coalesce(type, key, (older, newer) -> newer);
+        }
+
+        /**
+         * Coalesces events of {@code type}, or any of its subtypes, sharing a key. A newer event is merged with
+         * the event of its key still pending.
+         *
+         * @param type  the type of event, not null
+         * @param key   extracts the key of an event, not null. Events without a key are dispatched right away
+         * @param merge combines the pending event with the newer one, not null
+         * @return      this builder
+         */
+        public <T extends AEvent<?>> Builder coalesce(final @NonNull Class<T> type, final @NonNull Function<? super T, ?> key,
+                                                     final @NonNull BinaryOperator<T> merge) {
+            this.stages.put(type, new Stage<>(type, key, merge));
+            return this;
+        }
+
+        /**
+         * Sets how long events are coalesced before they are dispatched.
+         *
+         * @param window the length of a window, positive. Defaults to 10 milliseconds
+         * @param unit   the unit of {@code window}, not null
+         * @return       this builder
+         */
+        public Builder window(final long window, final @NonNull TimeUnit unit) {
+            if (window < 1)
+                throw new IllegalArgumentException("Window must be positive.");
+            this.windowNanos = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Sets the factory the dispatching thread is created by.
+         *
+         * @param threadFactory the factory, not null. Defaults to a factory creating daemon threads
+         * @return              this builder
+         */
+        public Builder threadFactory(final @NonNull ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /**
+         * Creates the coalescer and starts its dispatching thread.
+         *
+         * @return a new {@code EventCoalescer}
+         */
+        public EventCoalescer build() {
+            return new EventCoalescer(this);
+        }
+    }
+}
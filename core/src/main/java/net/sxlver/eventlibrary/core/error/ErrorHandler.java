@@ -0,0 +1,48 @@
+package net.sxlver.eventlibrary.core.error;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.exception.EventException;
+
+/**
+ * Decides what happens with errors that occur while an event is being dispatched.
+ * <p>
+ * Two kinds of errors are distinguished. Handlers may report an error through their result
+ * (see {@code ListenerExecutionResult#fail}), in which case the dispatch carries on and the result is passed to
+ * {@link #onError(AEvent, IListenerExecutionResult)}. Handlers may also throw, in which case
+ * {@link #onException(AEvent, IEventHandler, EventException)} decides whether the dispatch is aborted.
+ *
+ * @author Steve Oberst
+ * @see    net.sxlver.eventlibrary.core.EventBus.Builder#errorHandler(ErrorHandler)
+ */
+@FunctionalInterface
+public interface ErrorHandler {
+
+    /**
+     * The default error handler printing the stack trace of reported errors and rethrowing exceptions.
+     */
+    ErrorHandler PRINT_STACK_TRACE = (event, result) -> result.getError().printStackTrace();
+
+    /**
+     * Called for every handler result that reports an error.
+     *
+     * @param event  the event being dispatched
+     * @param result the result carrying the error
+     */
+    void onError(final AEvent<?> event, final IListenerExecutionResult<?> result);
+
+    /**
+     * Called when a handler has thrown an exception.
+     * <p>
+     * Rethrowing the exception aborts the dispatch and propagates it to the caller, which is what the
+     * default implementation does. Returning normally skips the handler and continues with the next one.
+     *
+     * @param event     the event being dispatched
+     * @param handler   the handler that has thrown
+     * @param exception the exception, wrapping whatever the handler has thrown
+     */
+    default void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+        throw exception;
+    }
+}
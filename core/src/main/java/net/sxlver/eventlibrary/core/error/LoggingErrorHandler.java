@@ -0,0 +1,344 @@
+package net.sxlver.eventlibrary.core.error;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.util.concurrent.Uninterruptibles;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.common.exception.HandlerInvocationException;
+import net.sxlver.eventlibrary.core.HandlerList;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * An {@link ErrorHandler} logging errors through {@link java.util.logging} that holds up under error storms.
+ * <p>
+ * Printing every error synchronously serialises all dispatching threads on the lock of the output stream, exactly
+ * when a bug makes a handler fail on every event. This handler can therefore
+ * <ul>
+ *     <li>{@link Builder#deduplicate(long, TimeUnit) deduplicate} errors, logging an error of the same handler
+ *     and exception type only once per window,</li>
+ *     <li>{@link Builder#rateLimit(int, long, TimeUnit) rate limit} the number of errors logged in total and</li>
+ *     <li>{@link Builder#async(int) log asynchronously} on a background thread, so dispatching threads only
+ *     have to enqueue the error.</li>
+ * </ul>
+ * Errors that are suppressed are counted and the counts are appended to the next message logged. Windows of
+ * duplicate errors are kept per handler instance and dropped along with handlers that have been collected.
+ * <p>
+ * Closing the handler stops its background thread after it has logged the errors still waiting. Errors reported
+ * afterwards are logged synchronously.
+ * <pre>{@code
+ * final EventBus bus = EventBus.builder()
+ *         .errorHandler(LoggingErrorHandler.builder()
+ *                 .deduplicate(10, TimeUnit.SECONDS)
+ *                 .rateLimit(100, 1, TimeUnit.SECONDS)
+ *                 .async(1024)
+ *                 .build())
+ *         .build();
+ * }</pre>
+ *
+ * @author Steve Oberst
+ */
+public final class LoggingErrorHandler implements ErrorHandler, AutoCloseable {
+
+    /* stands in for the handler of results not attached to one */
+    private static final Object UNKNOWN_HANDLER = new Object();
+    /* tells the background thread to stop */
+    private static final LogRecord STOP = new LogRecord(Level.OFF, null);
+
+    private final Logger logger;
+    private final boolean rethrow;
+    private final long deduplicationNanos;
+    private final int rateLimit;
+    private final long rateLimitNanos;
+    private final BlockingQueue<LogRecord> queue;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    private final ConcurrentMap<Object, ConcurrentMap<Class<?>, Window>> windows = new MapMaker().weakKeys().makeMap();
+    private final AtomicLong rateWindowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong rateWindowCount = new AtomicLong();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    private LoggingErrorHandler(final Builder builder) {
+        this.logger = builder.logger;
+        this.rethrow = builder.rethrow;
+        this.deduplicationNanos = builder.deduplicationNanos;
+        this.rateLimit = builder.rateLimit;
+        this.rateLimitNanos = builder.rateLimitNanos;
+        this.queue = builder.queueCapacity > 0 ? new ArrayBlockingQueue<>(builder.queueCapacity) : null;
+
+        if (queue != null) {
+            this.thread = new Thread(this::drain, "EventLibrary-error-logger");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            this.thread = null;
+        }
+    }
+
+    /**
+     * Creates a new builder for a {@code LoggingErrorHandler}.
+     *
+     * @return a builder logging every error synchronously
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void onError(final AEvent<?> event, final IListenerExecutionResult<?> result) {
+        final EventException error = result.getError().getError();
+        report(event, result.getHandler(), error, "reported an error");
+    }
+
+    @Override
+    public void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+        report(event, handler, exception, "has thrown");
+        if (rethrow)
+            throw exception;
+    }
+
+    /**
+     * @return the number of errors suppressed by deduplication, rate limiting or a full queue so far
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    /**
+     * Stops the background thread once it has logged all errors waiting, if logging asynchronously.
+     * <p>
+     * The wait isn't interruptible, an interrupt received meanwhile is restored once the thread has stopped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (thread == null)
+            return;
+
+        Uninterruptibles.putUninterruptibly(queue, STOP);
+        Uninterruptibles.joinUninterruptibly(thread);
+        /* errors enqueued while the thread was stopping */
+        flushQueue();
+    }
+
+    private void report(final AEvent<?> event, final IEventHandler<?> handler, final EventException error, final String verb) {
+        /* thrown exceptions are wrapped, what they wrap tells the errors apart */
+        final Throwable cause = error instanceof HandlerInvocationException && error.getCause() != null ? error.getCause() : error;
+
+        long duplicates = 0L;
+        if (deduplicationNanos > 0L) {
+            final Window window = windowOf(handler != null ? handler : UNKNOWN_HANDLER, cause.getClass());
+            final long now = System.nanoTime();
+            final long start = window.start.get();
+            if (start != Long.MIN_VALUE && now - start < deduplicationNanos) {
+                window.suppressed.increment();
+                suppressed.increment();
+                return;
+            }
+            if (!window.start.compareAndSet(start, now)) {
+                window.suppressed.increment();
+                suppressed.increment();
+                return;
+            }
+            duplicates = window.suppressed.sumThenReset();
+        }
+
+        if (rateLimit > 0 && !acquire()) {
+            rateLimited.increment();
+            suppressed.increment();
+            return;
+        }
+
+        final StringBuilder message = new StringBuilder()
+                .append(handler != null ? HandlerList.describe(handler) : "Unknown handler").append(' ').append(verb).append(" while handling ")
+                .append(event != null ? event.getClass().getName() : "an event").append(": ").append(cause);
+        if (duplicates > 0L)
+            message.append(" (").append(duplicates).append(" similar errors suppressed)");
+
+        final long limited = rateLimited.sumThenReset();
+        final long full = dropped.sumThenReset();
+        if (limited > 0L || full > 0L)
+            message.append(" (").append(limited + full).append(" other errors suppressed)");
+
+        final LogRecord record = new LogRecord(Level.SEVERE, message.toString());
+        record.setLoggerName(logger.getName());
+        record.setThrown(error);
+        if (queue == null || closed) {
+            logger.log(record);
+        } else if (!queue.offer(record)) {
+            dropped.increment();
+            suppressed.increment();
+        } else if (closed) {
+            /* the background thread may have stopped since closed was checked */
+            flushQueue();
+        }
+    }
+
+    private Window windowOf(final Object handler, final Class<?> type) {
+        ConcurrentMap<Class<?>, Window> byType = windows.get(handler);
+        if (byType == null) {
+            final ConcurrentMap<Class<?>, Window> created = new ConcurrentHashMap<>();
+            byType = windows.putIfAbsent(handler, created);
+            if (byType == null) byType = created;
+        }
+
+        final Window window = byType.get(type);
+        if (window != null)
+            return window;
+
+        final Window created = new Window();
+        final Window existing = byType.putIfAbsent(type, created);
+        return existing != null ? existing : created;
+    }
+
+    /*
+    fixed window limiter, the first caller after a window has passed starts the next one
+     */
+    private boolean acquire() {
+        final long now = System.nanoTime();
+        final long start = rateWindowStart.get();
+        if (now - start >= rateLimitNanos && rateWindowStart.compareAndSet(start, now))
+            rateWindowCount.set(0L);
+        return rateWindowCount.incrementAndGet() <= rateLimit;
+    }
+
+    private void drain() {
+        while (true) {
+            try {
+                final LogRecord record = queue.take();
+                if (record == STOP)
+                    return;
+                logger.log(record);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    private void flushQueue() {
+        for (LogRecord record = queue.poll(); record != null; record = queue.poll()) {
+            if (record != STOP)
+                logger.log(record);
+        }
+    }
+
+    /**
+     * The window of an error of a handler, errors are considered duplicates if the same handler fails with the
+     * same type of exception.
+     */
+    private static final class Window {
+        private final AtomicLong start = new AtomicLong(Long.MIN_VALUE);
+        /* suppressed since the error has last been logged */
+        private final LongAdder suppressed = new LongAdder();
+    }
+
+    /**
+     * Builder for {@link LoggingErrorHandler} instances.
+     */
+    public static final class Builder {
+        private Logger logger = Logger.getLogger("EventLibrary");
+        private boolean rethrow = true;
+        private long deduplicationNanos;
+        private int rateLimit;
+        private long rateLimitNanos;
+        private int queueCapacity;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the logger errors are logged to.
+         *
+         * @param logger the logger, not null. Defaults to the logger named {@code EventLibrary}
+         * @return       this builder
+         */
+        public Builder logger(final @NonNull Logger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        /**
+         * Sets whether exceptions thrown by handlers are rethrown after they have been logged, aborting the
+         * dispatch like {@link ErrorHandler#onException(AEvent, IEventHandler, EventException)} does by default.
+         * Exceptions are rethrown even if they haven't been logged because they were suppressed.
+         *
+         * @param rethrow whether to rethrow exceptions. Defaults to {@code true}
+         * @return        this builder
+         */
+        public Builder rethrow(final boolean rethrow) {
+            this.rethrow = rethrow;
+            return this;
+        }
+
+        /**
+         * Logs errors of the same handler and exception type only once per {@code window}.
+         *
+         * @param window the time duplicates are suppressed for, positive
+         * @param unit   the unit of {@code window}, not null
+         * @return       this builder
+         */
+        public Builder deduplicate(final long window, final @NonNull TimeUnit unit) {
+            if (window <= 0)
+                throw new IllegalArgumentException("Window must be positive.");
+            this.deduplicationNanos = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Logs at most {@code permits} errors per {@code window}.
+         *
+         * @param permits the number of errors logged per window, positive
+         * @param window  the length of a window, positive
+         * @param unit    the unit of {@code window}, not null
+         * @return        this builder
+         */
+        public Builder rateLimit(final int permits, final long window, final @NonNull TimeUnit unit) {
+            if (permits <= 0 || window <= 0)
+                throw new IllegalArgumentException("Permits and window must be positive.");
+            this.rateLimit = permits;
+            this.rateLimitNanos = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Logs errors on a background thread. Errors are dropped while {@code capacity} errors are waiting to
+         * be logged.
+         *
+         * @param capacity the number of errors that may wait to be logged, positive
+         * @return         this builder
+         */
+        public Builder async(final int capacity) {
+            if (capacity <= 0)
+                throw new IllegalArgumentException("Capacity must be positive.");
+            this.queueCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Creates the error handler, starting its background thread if logging asynchronously.
+         *
+         * @return a new {@code LoggingErrorHandler}
+         */
+        public LoggingErrorHandler build() {
+            return new LoggingErrorHandler(this);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package net.sxlver.eventlibrary.core.invoke;
+
+import java.util.List;
+
+/**
+ * Compile-time index of the subscriber methods of a single listener class.
+ * <p>
+ * Implementations are generated by the {@code processor} module for every listener class it encounters and
+ * registered as a {@link java.util.ServiceLoader service}. When an instance of such a class is registered, its
+ * subscribers are taken from the dispatcher instead of being looked up reflectively and are invoked through
+ * plain method calls, which also works on runtimes that restrict reflection and in native images.
+ *
+ * @author Steve Oberst
+ * @see    GeneratedSubscriber
+ */
+public interface GeneratedDispatcher {
+
+    /**
+     * @return the listener class this dispatcher has been generated for
+     */
+    Class<?> getListenerType();
+
+    /**
+     * @return the subscriber methods declared by the listener class
+     */
+    List<GeneratedSubscriber> getSubscribers();
+}
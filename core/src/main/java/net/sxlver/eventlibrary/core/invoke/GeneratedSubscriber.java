@@ -0,0 +1,64 @@
+package net.sxlver.eventlibrary.core.invoke;
+
+import lombok.Data;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+
+/**
+ * A subscriber method described by a {@link GeneratedDispatcher}.
+ *
+ * @author Steve Oberst
+ * @see    GeneratedDispatcher
+ */
+@Data
+public final class GeneratedSubscriber {
+    private final String name;
+    private final Class<?> event;
+    private final EventPriority priority;
+    private final int weight;
+    private final boolean ignoreCancelled;
+    /*
+    batch subscribers are passed a List of events instead of a single event
+     */
+    private final boolean batch;
+    /*
+    asynchronous subscribers return a CompletionStage of their result
+     */
+    private final boolean async;
+    private final HandlerInvoker invoker;
+    /*
+    the classes of the filters declared through EventSubscriber#filter
+     */
+    private final Class<?>[] filters;
+
+    public GeneratedSubscriber(final @NonNull String name, final @NonNull Class<?> event, final @NonNull EventPriority priority,
+                               final int weight, final boolean ignoreCancelled, final @NonNull HandlerInvoker invoker) {
+        this(name, event, priority, weight, ignoreCancelled, false, invoker);
+    }
+
+    public GeneratedSubscriber(final @NonNull String name, final @NonNull Class<?> event, final @NonNull EventPriority priority,
+                               final int weight, final boolean ignoreCancelled, final boolean batch,
+                               final @NonNull HandlerInvoker invoker) {
+        this(name, event, priority, weight, ignoreCancelled, batch, false, invoker);
+    }
+
+    public GeneratedSubscriber(final @NonNull String name, final @NonNull Class<?> event, final @NonNull EventPriority priority,
+                               final int weight, final boolean ignoreCancelled, final boolean batch, final boolean async,
+                               final @NonNull HandlerInvoker invoker) {
+        this(name, event, priority, weight, ignoreCancelled, batch, async, invoker, new Class<?>[0]);
+    }
+
+    public GeneratedSubscriber(final @NonNull String name, final @NonNull Class<?> event, final @NonNull EventPriority priority,
+                               final int weight, final boolean ignoreCancelled, final boolean batch, final boolean async,
+                               final @NonNull HandlerInvoker invoker, final @NonNull Class<?>[] filters) {
+        this.name = name;
+        this.event = event;
+        this.priority = priority;
+        this.weight = weight;
+        this.ignoreCancelled = ignoreCancelled;
+        this.batch = batch;
+        this.async = async;
+        this.invoker = invoker;
+        this.filters = filters;
+    }
+}
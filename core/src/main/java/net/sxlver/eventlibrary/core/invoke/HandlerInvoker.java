@@ -0,0 +1,24 @@
+package net.sxlver.eventlibrary.core.invoke;
+
+/**
+ * A direct call site for a single subscriber method.
+ * <p>
+ * Invokers are created once per subscriber method by {@link InvokerFactory} and are shared between all
+ * instances of the declaring listener class, which is why the listener is passed in on every call.
+ *
+ * @author Steve Oberst
+ * @see    InvokerFactory
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+
+    /**
+     * Invokes the subscriber method on {@code listener}.
+     *
+     * @param listener the instance declaring the subscriber method
+     * @param event    the event passed to the subscriber
+     * @return         whatever the subscriber method returned
+     * @throws Throwable anything thrown by the subscriber method, unwrapped
+     */
+    Object invoke(final Object listener, final Object event) throws Throwable;
+}
@@ -0,0 +1,91 @@
+package net.sxlver.eventlibrary.core.invoke;
+
+import lombok.NonNull;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Builds {@link HandlerInvoker}s for subscriber methods.
+ * <p>
+ * The factory first tries to spin a lambda class through {@link LambdaMetafactory}, which the JIT can inline
+ * just like a regular virtual call. If the lookup is not permitted to do so (e.g. the listener was loaded by
+ * a foreign class loader) it falls back to a plain {@link MethodHandle} and, as a last resort, to reflection.
+ *
+ * @author Steve Oberst
+ * @see    HandlerInvoker
+ */
+public final class InvokerFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(HandlerInvoker.class);
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+    private InvokerFactory() {
+    }
+
+    /**
+     * Creates the fastest available invoker for {@code method}.
+     *
+     * @param method the subscriber method, not null
+     * @return       an invoker calling {@code method}
+     */
+    public static HandlerInvoker create(final @NonNull Method method) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            try {
+                return createLambda(method);
+            } catch (Throwable ignored) {
+                // not permitted to define a lambda class next to the listener
+            }
+        }
+
+        try {
+            return createMethodHandle(method);
+        } catch (Throwable ignored) {
+            // method handle could not be unreflected
+        }
+
+        return createReflective(method);
+    }
+
+    static HandlerInvoker createLambda(final Method method) throws Throwable {
+        final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+        final MethodHandle target = lookup.unreflect(method);
+        final CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "invoke",
+                INVOKER_TYPE,
+                INVOKE_TYPE,
+                target,
+                target.type().changeReturnType(Object.class)
+        );
+        return (HandlerInvoker) site.getTarget().invokeExact();
+    }
+
+    static HandlerInvoker createMethodHandle(final Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflect(method);
+        if (Modifier.isStatic(method.getModifiers()))
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+        final MethodHandle invokeHandle = handle.asType(INVOKE_TYPE);
+        return (listener, event) -> (Object) invokeHandle.invokeExact(listener, event);
+    }
+
+    static HandlerInvoker createReflective(final Method method) {
+        method.setAccessible(true);
+        return (listener, event) -> {
+            try {
+                return method.invoke(listener, event);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package net.sxlver.eventlibrary.core.metrics;
+
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.core.HandlerList;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the statistics of a {@link StatisticsMetricsSink} as {@link EventMetricsMXBean}.
+ *
+ * @author Steve Oberst
+ */
+public class EventMetrics implements EventMetricsMXBean {
+
+    private final StatisticsMetricsSink sink;
+
+    public EventMetrics(final @NonNull StatisticsMetricsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Registers the statistics of {@code sink} with the platform MBean server under
+     * {@code net.sxlver.eventlibrary:type=EventMetrics,name=<name>}.
+     *
+     * @param sink the sink whose statistics should be exposed, not null
+     * @param name the name to register the bean under, usually the name of the bus, not null
+     * @return     the name the bean has been registered under, to unregister it later on
+     * @throws JMException if the bean couldn't be registered, e.g. as the name is already taken
+     */
+    public static ObjectName register(final @NonNull StatisticsMetricsSink sink, final @NonNull String name) throws JMException {
+        final ObjectName objectName = new ObjectName("net.sxlver.eventlibrary:type=EventMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new EventMetrics(sink), objectName);
+        return objectName;
+    }
+
+    @Override
+    public List<EventTypeMetrics> getEventTypes() {
+        final List<EventTypeMetrics> metrics = new ArrayList<>();
+        for (final StatisticsMetricsSink.EventStatistics statistics : sink.getEventStatistics().values()) {
+            final LatencyHistogram latency = statistics.getLatency();
+            metrics.add(new EventTypeMetrics(statistics.getEvent().getName(), statistics.getDispatched(),
+                    statistics.getCancelled(), statistics.getBatches(), latency.getMean(), latency.getValueAtPercentile(50),
+                    latency.getValueAtPercentile(99), latency.getValueAtPercentile(99.9), latency.getMax()));
+        }
+        return metrics;
+    }
+
+    @Override
+    public List<HandlerMetrics> getHandlers() {
+        final List<HandlerMetrics> metrics = new ArrayList<>();
+        for (final Map.Entry<IEventHandler<?>, StatisticsMetricsSink.HandlerStatistics> entry : sink.getHandlerStatistics().entrySet()) {
+            final StatisticsMetricsSink.HandlerStatistics statistics = entry.getValue();
+            final LatencyHistogram latency = statistics.getLatency();
+            metrics.add(new HandlerMetrics(HandlerList.describe(entry.getKey()), statistics.getEvent().getName(), statistics.getInvocations(),
+                    statistics.getCancels(), statistics.getErrors(), latency.getMean(), latency.getValueAtPercentile(50),
+                    latency.getValueAtPercentile(99), latency.getValueAtPercentile(99.9), latency.getMax()));
+        }
+        return metrics;
+    }
+
+    @Override
+    public void reset() {
+        sink.reset();
+    }
+}
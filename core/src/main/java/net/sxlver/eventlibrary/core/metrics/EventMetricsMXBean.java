@@ -0,0 +1,62 @@
+package net.sxlver.eventlibrary.core.metrics;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Management interface exposing the statistics of a {@link StatisticsMetricsSink} through JMX.
+ *
+ * @author Steve Oberst
+ * @see    EventMetrics#register(StatisticsMetricsSink, String)
+ */
+public interface EventMetricsMXBean {
+
+    /**
+     * @return the statistics of all event types dispatched
+     */
+    List<EventTypeMetrics> getEventTypes();
+
+    /**
+     * @return the statistics of all handlers invoked
+     */
+    List<HandlerMetrics> getHandlers();
+
+    /**
+     * Discards all statistics collected so far.
+     */
+    void reset();
+
+    /**
+     * A snapshot of {@link StatisticsMetricsSink.EventStatistics}.
+     */
+    @Data
+    class EventTypeMetrics {
+        private final String eventType;
+        private final long dispatched;
+        private final long cancelled;
+        private final long batches;
+        private final double meanNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+    }
+
+    /**
+     * A snapshot of {@link StatisticsMetricsSink.HandlerStatistics}.
+     */
+    @Data
+    class HandlerMetrics {
+        private final String handler;
+        private final String eventType;
+        private final long invocations;
+        private final long cancels;
+        private final long errors;
+        private final double meanNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+    }
+}
@@ -0,0 +1,123 @@
+package net.sxlver.eventlibrary.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds with a fixed memory footprint.
+ * <p>
+ * Like HdrHistogram, values are counted in buckets whose width grows with the magnitude of the value: every
+ * power of two is split into 64 linear sub-buckets, so any recorded value is reproduced with a relative error
+ * below 1.6%. Values below 128 ns are counted exactly, values above {@link #MAX_VALUE} (roughly 73 minutes)
+ * in the highest bucket. Recording a value never allocates: it increments the value's bucket atomically,
+ * adds to the striped count and sum, which don't contend between threads, and only writes the maximum when
+ * it has been exceeded.
+ *
+ * @author Steve Oberst
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The highest value that is tracked precisely, larger values are clamped.
+     */
+    public static final long MAX_VALUE = (1L << 42) - 1;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a single value.
+     *
+     * @param nanos the value in nanoseconds, negative values are counted as 0
+     */
+    public void record(final long nanos) {
+        final long value = Math.min(Math.max(nanos, 0L), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return the arithmetic mean of all values recorded, or 0 if none have been recorded
+     */
+    public double getMean() {
+        final long count = totalCount.sum();
+        return count == 0 ? 0D : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * @return the highest value recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value at the given percentile, e.g. {@code 99.9}. The returned value is the upper bound of
+     * the bucket the percentile falls into, never above the highest value recorded.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return           the value at the percentile, or 0 if no values have been recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long count = totalCount.sum();
+        if (count == 0) return 0L;
+
+        final long target = Math.max(1L, (long) Math.ceil(Math.min(Math.max(percentile, 0D), 100D) / 100D * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target)
+                return Math.min(highestValueOf(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears all values recorded. Values recorded concurrently may or may not be kept.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++)
+            counts.set(i, 0L);
+        totalCount.reset();
+        totalValue.reset();
+        max.reset();
+    }
+
+    /*
+    values below SUB_BUCKET_COUNT map to their own index, larger values are shifted so their SUB_BUCKET_BITS highest
+    bits are kept, the upper half of each following power of two taking another SUB_BUCKET_HALF indices
+     */
+    private static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    private static long highestValueOf(final int index) {
+        if (index < SUB_BUCKET_COUNT)
+            return index;
+
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,81 @@
+package net.sxlver.eventlibrary.core.metrics;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.exception.EventException;
+
+/**
+ * Receives measurements taken while events are dispatched.
+ * <p>
+ * Measurements are only taken if an {@link net.sxlver.eventlibrary.core.EventBus} has been configured with a
+ * sink other than {@link #NOOP}. Implementations are called on the dispatching thread and should therefore
+ * return as quickly as possible.
+ *
+ * @author Steve Oberst
+ * @see    net.sxlver.eventlibrary.core.EventBus.Builder#metricsSink(MetricsSink)
+ */
+public interface MetricsSink {
+
+    /**
+     * A sink discarding everything. Buses using this sink skip taking measurements altogether.
+     */
+    MetricsSink NOOP = new MetricsSink() {};
+
+    /**
+     * Called after a handler has been invoked.
+     *
+     * @param event         the type of event dispatched
+     * @param handler       the handler that has been invoked
+     * @param result        the result returned by the handler
+     * @param durationNanos the time the handler took to process the event
+     */
+    default void onHandlerInvoked(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                  final IListenerExecutionResult<?> result, final long durationNanos) {
+    }
+
+    /**
+     * Called after a handler has thrown, before the exception is passed to the bus' error handler.
+     *
+     * @param event         the type of event dispatched
+     * @param handler       the handler that has thrown
+     * @param exception     the exception thrown, wrapped into an {@link EventException} if necessary
+     * @param durationNanos the time until the handler has thrown
+     */
+    default void onHandlerFailed(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                 final EventException exception, final long durationNanos) {
+    }
+
+    /**
+     * Called after a batch handler has been invoked with a batch of events.
+     *
+     * @param event         the type of events dispatched
+     * @param handler       the handler that has been invoked
+     * @param size          the number of events passed to the handler
+     * @param durationNanos the time the handler took to process the events
+     */
+    default void onBatchHandlerInvoked(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                       final int size, final long durationNanos) {
+    }
+
+    /**
+     * Called after an event has been dispatched to all of its handlers.
+     *
+     * @param event         the type of event dispatched
+     * @param cancelled     whether the event ended up being cancelled
+     * @param durationNanos the time the whole dispatch took
+     */
+    default void onEventDispatched(final Class<? extends AEvent<?>> event, final boolean cancelled, final long durationNanos) {
+    }
+
+    /**
+     * Called after a batch of events has been dispatched to all of their handlers.
+     *
+     * @param event         the type of events dispatched
+     * @param size          the number of events in the batch
+     * @param cancelled     the number of events that ended up being cancelled
+     * @param durationNanos the time the whole batch took
+     */
+    default void onBatchDispatched(final Class<? extends AEvent<?>> event, final int size, final int cancelled, final long durationNanos) {
+    }
+}
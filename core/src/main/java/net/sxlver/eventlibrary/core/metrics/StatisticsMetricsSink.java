@@ -0,0 +1,237 @@
+package net.sxlver.eventlibrary.core.metrics;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsSink} keeping invocation, cancel and error counts and a {@link LatencyHistogram} per event
+ * type and per handler.
+ * <p>
+ * Statistics of a handler are only weakly referenced and dropped together with the handler once it has been
+ * unregistered and is no longer used. The statistics can be read directly or exposed through JMX using
+ * {@link EventMetrics#register(StatisticsMetricsSink, String)}.
+ * <pre>{@code
+ * final StatisticsMetricsSink statistics = new StatisticsMetricsSink();
+ * final EventBus bus = EventBus.builder().metricsSink(statistics).build();
+ * ...
+ * final long p99 = statistics.getEventStatistics(LoginEvent.class).getLatency().getValueAtPercentile(99);
+ * }</pre>
+ *
+ * @author Steve Oberst
+ */
+public class StatisticsMetricsSink implements MetricsSink {
+
+    private final ConcurrentMap<Class<?>, EventStatistics> events = new ConcurrentHashMap<>();
+    /* weak keys are compared by identity, just like handlers are in the registry of a bus */
+    private final ConcurrentMap<IEventHandler<?>, HandlerStatistics> handlers = new MapMaker().weakKeys().makeMap();
+
+    @Override
+    public void onHandlerInvoked(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                 final IListenerExecutionResult<?> result, final long durationNanos) {
+        final HandlerStatistics statistics = handlerStatistics(event, handler);
+        statistics.invocations.increment();
+        if (result.shouldCancel()) statistics.cancels.increment();
+        if (result.error()) statistics.errors.increment();
+        statistics.latency.record(durationNanos);
+    }
+
+    @Override
+    public void onHandlerFailed(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                final EventException exception, final long durationNanos) {
+        final HandlerStatistics statistics = handlerStatistics(event, handler);
+        statistics.invocations.increment();
+        statistics.errors.increment();
+        statistics.latency.record(durationNanos);
+    }
+
+    @Override
+    public void onBatchHandlerInvoked(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                      final int size, final long durationNanos) {
+        final HandlerStatistics statistics = handlerStatistics(event, handler);
+        statistics.invocations.increment();
+        statistics.latency.record(durationNanos);
+    }
+
+    @Override
+    public void onEventDispatched(final Class<? extends AEvent<?>> event, final boolean cancelled, final long durationNanos) {
+        final EventStatistics statistics = eventStatistics(event);
+        statistics.dispatched.increment();
+        if (cancelled) statistics.cancelled.increment();
+        statistics.latency.record(durationNanos);
+    }
+
+    @Override
+    public void onBatchDispatched(final Class<? extends AEvent<?>> event, final int size, final int cancelled, final long durationNanos) {
+        final EventStatistics statistics = eventStatistics(event);
+        statistics.dispatched.add(size);
+        statistics.cancelled.add(cancelled);
+        statistics.batches.increment();
+    }
+
+    private EventStatistics eventStatistics(final Class<? extends AEvent<?>> event) {
+        final EventStatistics statistics = events.get(event);
+        if (statistics != null) return statistics;
+
+        final EventStatistics created = new EventStatistics(event);
+        final EventStatistics existing = events.putIfAbsent(event, created);
+        return existing != null ? existing : created;
+    }
+
+    private HandlerStatistics handlerStatistics(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler) {
+        final HandlerStatistics statistics = handlers.get(handler);
+        if (statistics != null) return statistics;
+
+        final HandlerStatistics created = new HandlerStatistics(event);
+        final HandlerStatistics existing = handlers.putIfAbsent(handler, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * @param event the type of event
+     * @return      the statistics of {@code event} or {@code null} if no event of the type has been dispatched
+     */
+    public @Nullable EventStatistics getEventStatistics(final @NonNull Class<? extends AEvent<?>> event) {
+        return events.get(event);
+    }
+
+    /**
+     * @param handler the handler
+     * @return        the statistics of {@code handler} or {@code null} if the handler hasn't been invoked
+     */
+    public @Nullable HandlerStatistics getHandlerStatistics(final @NonNull IEventHandler<?> handler) {
+        return handlers.get(handler);
+    }
+
+    /**
+     * @return a snapshot of the statistics of all event types dispatched
+     */
+    public Map<Class<?>, EventStatistics> getEventStatistics() {
+        return Collections.unmodifiableMap(Maps.newHashMap(events));
+    }
+
+    /**
+     * @return a snapshot of the statistics of all handlers invoked, keyed by the identity of the handler
+     */
+    public Map<IEventHandler<?>, HandlerStatistics> getHandlerStatistics() {
+        final Map<IEventHandler<?>, HandlerStatistics> snapshot = Maps.newIdentityHashMap();
+        snapshot.putAll(handlers);
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Discards all statistics collected so far.
+     */
+    public void reset() {
+        events.clear();
+        handlers.clear();
+    }
+
+    /**
+     * Statistics of a single event type.
+     */
+    public static final class EventStatistics {
+        private final Class<?> event;
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        EventStatistics(final Class<?> event) {
+            this.event = event;
+        }
+
+        public Class<?> getEvent() {
+            return event;
+        }
+
+        /**
+         * @return the number of events dispatched, including events dispatched as part of a batch
+         */
+        public long getDispatched() {
+            return dispatched.sum();
+        }
+
+        /**
+         * @return the number of events that ended up being cancelled
+         */
+        public long getCancelled() {
+            return cancelled.sum();
+        }
+
+        /**
+         * @return the number of batches dispatched
+         */
+        public long getBatches() {
+            return batches.sum();
+        }
+
+        /**
+         * @return the latency of dispatching single events to all of their handlers, excluding batches
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+
+    /**
+     * Statistics of a single handler.
+     */
+    public static final class HandlerStatistics {
+        private final Class<?> event;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder cancels = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        HandlerStatistics(final Class<?> event) {
+            this.event = event;
+        }
+
+        /**
+         * @return the type of event the handler has first been invoked with
+         */
+        public Class<?> getEvent() {
+            return event;
+        }
+
+        /**
+         * @return the number of times the handler has been invoked, a batch counting as a single invocation
+         */
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        /**
+         * @return the number of times the handler has cancelled an event
+         */
+        public long getCancels() {
+            return cancels.sum();
+        }
+
+        /**
+         * @return the number of times the handler has thrown or returned an error
+         */
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * @return the time the handler took per invocation
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+}
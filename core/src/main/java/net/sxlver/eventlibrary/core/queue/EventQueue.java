@@ -0,0 +1,399 @@
+package net.sxlver.eventlibrary.core.queue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded queue of events dispatched to an {@link EventBus} by a fixed number of consumer threads.
+ * <p>
+ * Events are assigned to a partition by their key, the type of the event by default. Every partition is a
+ * ring buffer of fixed capacity drained by a single consumer thread, so events sharing a key are always
+ * dispatched in the order they have been submitted, while events of different keys may be dispatched
+ * concurrently. Once a partition is full, the {@link OverflowPolicy} decides what happens to new events,
+ * which keeps memory usage predictable no matter how bursty the load is.
+ * <p>
+ * Consumers drain up to {@link Builder#maxBatchSize(int)} events at once. Consecutive events of the same
+ * type are dispatched through {@link EventBus#dispatchBatch(Class, java.util.Collection)}, all others through
+ * {@link EventBus#fireEvent(AEvent)}.
+ *
+ * @author Steve Oberst
+ * @see    OverflowPolicy
+ */
+public final class EventQueue implements AutoCloseable {
+
+    private static final AtomicInteger QUEUE_COUNTER = new AtomicInteger();
+
+    private final EventBus bus;
+    private final OverflowPolicy overflowPolicy;
+    private final Function<? super AEvent<?>, ?> key;
+    private final int maxBatchSize;
+    private final Partition[] partitions;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    private EventQueue(final Builder builder) {
+        this.bus = builder.bus;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.key = builder.key;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.partitions = new Partition[builder.partitions];
+
+        final ThreadFactory threadFactory = builder.threadFactory != null ? builder.threadFactory : defaultThreadFactory();
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(builder.capacity);
+            partitions[i].consumer = threadFactory.newThread(partitions[i]::consume);
+        }
+        for (final Partition partition : partitions)
+            partition.consumer.start();
+    }
+
+    /**
+     * Creates a new builder for a queue dispatching to {@code bus}.
+     *
+     * @param bus the bus events will be dispatched to, not null
+     * @return    a builder initialised with the default configuration
+     */
+    public static Builder builder(final @NonNull EventBus bus) {
+        return new Builder(bus);
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        final int queue = QUEUE_COUNTER.incrementAndGet();
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "EventLibrary-queue-" + queue + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Submits an event to be dispatched by the consumer of its partition.
+     *
+     * @param event the event to be dispatched, not null
+     * @return      {@code false} if the event has been dropped because the queue was full
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public boolean submit(final @NonNull AEvent<?> event) {
+        if (closed)
+            throw new IllegalStateException("Queue has been closed.");
+
+        final Object eventKey = key.apply(event);
+        final int hash = eventKey == null ? 0 : eventKey.hashCode();
+        final Partition partition = partitions[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % partitions.length];
+        return partition.offer(event);
+    }
+
+    /**
+     * @return the number of events currently waiting to be dispatched
+     */
+    public int size() {
+        int size = 0;
+        for (final Partition partition : partitions)
+            size += partition.size();
+        return size;
+    }
+
+    /**
+     * @return the number of events that have been dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting new events and waits for the consumers to dispatch all events still waiting in the queue.
+     * <p>
+     * The wait isn't interruptible, an interrupt received meanwhile is restored once the consumers have stopped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (final Partition partition : partitions)
+            partition.signalClose();
+
+        for (final Partition partition : partitions) {
+            if (partition.consumer != Thread.currentThread())
+                Uninterruptibles.joinUninterruptibly(partition.consumer);
+        }
+    }
+
+    /**
+     * Dispatches a batch drained from a partition, grouping consecutive events of the same type.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void dispatch(final List<AEvent<?>> events) {
+        int from = 0;
+        while (from < events.size()) {
+            final Class<? extends AEvent> type = events.get(from).getClass();
+            int to = from + 1;
+            while (to < events.size() && events.get(to).getClass() == type)
+                to++;
+
+            try {
+                if (to - from == 1) {
+                    bus.fireEvent((AEvent) events.get(from));
+                } else {
+                    bus.dispatchBatch((Class) type, (List) events.subList(from, to));
+                }
+            } catch (Throwable t) {
+                /* the consumer must outlive any handler, producers would wait for it forever otherwise */
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * A ring buffer drained by a single consumer.
+     * <p>
+     * The buffer is guarded by {@link #lock}. Draining and dispatching a batch additionally happens under
+     * {@link #dispatchLock}, so that a producer running {@link OverflowPolicy#CALLER_RUNS} can never overtake
+     * events the consumer has already taken from the buffer.
+     */
+    private final class Partition {
+        private final AEvent<?>[] ring;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final ReentrantLock dispatchLock = new ReentrantLock();
+        private Thread consumer;
+        private int head;
+        private int count;
+
+        private Partition(final int capacity) {
+            this.ring = new AEvent<?>[capacity];
+        }
+
+        private boolean offer(final AEvent<?> event) {
+            lock.lock();
+            try {
+                /* the consumer may have seen the queue closed and left since submit checked it */
+                if (closed)
+                    throw new IllegalStateException("Queue has been closed.");
+
+                if (count == ring.length) {
+                    switch (overflowPolicy) {
+                        case BLOCK:
+                            while (count == ring.length) {
+                                if (closed)
+                                    throw new IllegalStateException("Queue has been closed.");
+                                notFull.awaitUninterruptibly();
+                            }
+                            break;
+                        case DROP_OLDEST:
+                            poll();
+                            dropped.incrementAndGet();
+                            break;
+                        case DROP_NEWEST:
+                            dropped.incrementAndGet();
+                            return false;
+                        case CALLER_RUNS:
+                            lock.unlock();
+                            try {
+                                runOnCaller(event);
+                            } finally {
+                                lock.lock();
+                            }
+                            return true;
+                    }
+                }
+
+                ring[(head + count) % ring.length] = event;
+                count++;
+                notEmpty.signal();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void runOnCaller(final AEvent<?> event) {
+            dispatchLock.lock();
+            try {
+                final List<AEvent<?>> events = new ArrayList<>();
+                lock.lock();
+                try {
+                    while (count > 0)
+                        events.add(poll());
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                events.add(event);
+                dispatch(events);
+            } finally {
+                dispatchLock.unlock();
+            }
+        }
+
+        private AEvent<?> poll() {
+            final AEvent<?> event = ring[head];
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            count--;
+            return event;
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void signalClose() {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void consume() {
+            final List<AEvent<?>> events = new ArrayList<>(maxBatchSize);
+            while (true) {
+                lock.lock();
+                try {
+                    while (count == 0) {
+                        if (closed)
+                            return;
+                        notEmpty.awaitUninterruptibly();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                dispatchLock.lock();
+                try {
+                    lock.lock();
+                    try {
+                        while (count > 0 && events.size() < maxBatchSize)
+                            events.add(poll());
+                        notFull.signalAll();
+                    } finally {
+                        lock.unlock();
+                    }
+                    dispatch(events);
+                } finally {
+                    dispatchLock.unlock();
+                    events.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link EventQueue} instances.
+     */
+    public static final class Builder {
+        private final EventBus bus;
+        private int capacity = 1024;
+        private int partitions = 1;
+        private int maxBatchSize = 64;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private Function<? super AEvent<?>, ?> key = Object::getClass;
+        private ThreadFactory threadFactory;
+
+        Builder(final EventBus bus) {
+            this.bus = bus;
+        }
+
+        /**
+         * Sets the number of events each partition can hold.
+         *
+         * @param capacity the capacity of a partition. Defaults to 1024
+         * @return         this builder
+         */
+        public Builder capacity(final int capacity) {
+            if (capacity < 1)
+                throw new IllegalArgumentException("Capacity must be positive.");
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the number of partitions, each drained by its own consumer thread.
+         *
+         * @param partitions the number of partitions. Defaults to 1
+         * @return           this builder
+         */
+        public Builder partitions(final int partitions) {
+            if (partitions < 1)
+                throw new IllegalArgumentException("Number of partitions must be positive.");
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events a consumer drains from its partition at once.
+         *
+         * @param maxBatchSize the maximum size of a batch. Defaults to 64
+         * @return             this builder
+         */
+        public Builder maxBatchSize(final int maxBatchSize) {
+            if (maxBatchSize < 1)
+                throw new IllegalArgumentException("Batch size must be positive.");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets what happens to events submitted to a full partition.
+         *
+         * @param overflowPolicy the policy, not null. Defaults to {@link OverflowPolicy#BLOCK}
+         * @return               this builder
+         */
+        public Builder overflowPolicy(final @NonNull OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the key events are partitioned by. Events sharing a key are dispatched in order.
+         *
+         * @param key extracts the key of an event, not null. Defaults to the type of the event
+         * @return    this builder
+         */
+        public Builder key(final @NonNull Function<? super AEvent<?>, ?> key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the factory the consumer threads are created by.
+         *
+         * @param threadFactory the factory, not null. Defaults to a factory creating daemon threads
+         * @return              this builder
+         */
+        public Builder threadFactory(final @NonNull ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /**
+         * Creates the queue and starts its consumer threads.
+         *
+         * @return a new, empty {@code EventQueue}
+         */
+        public EventQueue build() {
+            return new EventQueue(this);
+        }
+    }
+}
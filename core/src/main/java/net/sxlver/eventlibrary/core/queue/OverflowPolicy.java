@@ -0,0 +1,30 @@
+package net.sxlver.eventlibrary.core.queue;
+
+/**
+ * Determines what happens to an event submitted to a full {@link EventQueue}.
+ *
+ * @author Steve Oberst
+ * @see    EventQueue.Builder#overflowPolicy(OverflowPolicy)
+ */
+public enum OverflowPolicy {
+    /**
+     * The submitting thread waits until there is space in the queue.
+     */
+    BLOCK,
+
+    /**
+     * The oldest event waiting in the queue is dropped to make space for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The submitting thread dispatches all events waiting in the queue, followed by the new one, itself.
+     * Events are still dispatched in order, the submitting thread is slowed down to the pace of the handlers.
+     */
+    CALLER_RUNS;
+}
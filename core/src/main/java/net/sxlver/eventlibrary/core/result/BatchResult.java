@@ -0,0 +1,55 @@
+package net.sxlver.eventlibrary.core.result;
+
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+
+import java.util.BitSet;
+
+@SuppressWarnings("unchecked")
+public class BatchResult<A extends AEvent<A>> implements IBatchResult<A> {
+
+    private final Object[] events;
+    private final BitSet cancelled;
+
+    /**
+     * Creates the result of a batch dispatch.
+     * <p>
+     * Neither {@code events} nor {@code cancelled} are copied, so they must not be modified afterwards.
+     *
+     * @param events    the events dispatched, all of type {@code A}
+     * @param cancelled the indices of the events that have been cancelled
+     */
+    public BatchResult(final Object[] events, final BitSet cancelled) {
+        this.events = events;
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public int size() {
+        return events.length;
+    }
+
+    @Override
+    public A getEvent(final int index) {
+        return (A) events[index];
+    }
+
+    @Override
+    public boolean cancelled(final int index) {
+        if (index < 0 || index >= events.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + events.length);
+
+        return cancelled.get(index);
+    }
+
+    @Override
+    public int cancelledCount() {
+        return cancelled.cardinality();
+    }
+
+    @Override
+    public @NonNull BitSet getCancelled() {
+        return (BitSet) cancelled.clone();
+    }
+}
@@ -4,30 +4,44 @@ import lombok.NonNull;
 import net.sxlver.eventlibrary.api.result.IEventResult;
 import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
 import net.sxlver.eventlibrary.api.AEvent;
-import net.sxlver.eventlibrary.common.exception.EventException;
 
 import java.util.Collection;
 import java.util.LinkedList;
-import java.util.Stack;
 
 public class EventResult<A extends AEvent<A>> implements IEventResult<A> {
 
     private final A event;
-    private boolean cancelled;
-    private LinkedList<IListenerExecutionResult<A>> executionStack = new LinkedList<>();
+    private final boolean cancelled;
+    private final Collection<IListenerExecutionResult<A>> executionResults;
+    private LinkedList<IListenerExecutionResult<A>> executionStack;
 
     public EventResult(final A event, final Collection<IListenerExecutionResult<A>> executionResults) {
+        this(event, executionResults, processResults(executionResults));
+    }
+
+    /**
+     * Creates a result for a dispatch that has already determined whether the event has been cancelled.
+     * <p>
+     * The execution stack is only copied from {@code executionResults} once it's requested, so the
+     * collection must not be modified afterwards.
+     *
+     * @param event            the event dispatched
+     * @param executionResults the results of all handlers invoked, in order
+     * @param cancelled        whether the event ended up being cancelled
+     */
+    public EventResult(final A event, final Collection<IListenerExecutionResult<A>> executionResults, final boolean cancelled) {
         this.event = event;
-        processResults(executionResults);
+        this.executionResults = executionResults;
+        this.cancelled = cancelled;
     }
 
-    private void processResults(final Collection<IListenerExecutionResult<A>> executionResults) {
+    private static <A extends AEvent<A>> boolean processResults(final Collection<IListenerExecutionResult<A>> executionResults) {
+        boolean cancelled = false;
         for (final IListenerExecutionResult<A> executionResult : executionResults) {
-            executionStack.add(executionResult);
-
             if(executionResult.shouldCancel()) cancelled = true;
             else if(executionResult.shouldContinue()) cancelled = false;
         }
+        return cancelled;
     }
 
     @Override
@@ -37,11 +51,14 @@ public class EventResult<A extends AEvent<A>> implements IEventResult<A> {
 
     @Override
     public boolean cancelled() {
-        return false;
+        return cancelled;
     }
 
     @Override
     public @NonNull LinkedList<IListenerExecutionResult<A>> getExecutionStack() {
+        if (executionStack == null)
+            executionStack = new LinkedList<>(executionResults);
+
         return executionStack;
     }
 }
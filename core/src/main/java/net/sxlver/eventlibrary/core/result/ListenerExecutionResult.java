@@ -6,6 +6,8 @@ import net.sxlver.eventlibrary.api.AEvent;
 import net.sxlver.eventlibrary.api.result.ErrorReport;
 import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
 import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.common.exception.HandlerFailureException;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 public class ListenerExecutionResult<T extends AEvent<T>> implements IListenerExecutionResult<T> {
@@ -15,6 +17,14 @@ public class ListenerExecutionResult<T extends AEvent<T>> implements IListenerEx
     private static final int CONTINUE = 0x4;
     private static final int ERROR    = 0x8;
 
+    /*
+    results without an error carry no state besides their flags, so they can be shared. The handler that
+    returned them is attached by the dispatcher only if a full IEventResult is built
+     */
+    private static final ListenerExecutionResult<?> SUCCESS_RESULT  = new ListenerExecutionResult<>(null, OK);
+    private static final ListenerExecutionResult<?> CONTINUE_RESULT = new ListenerExecutionResult<>(null, OK | CONTINUE);
+    private static final ListenerExecutionResult<?> CANCEL_RESULT   = new ListenerExecutionResult<>(null, OK | CANCEL);
+
     private final IEventHandler<T> handler;
     private final int flags;
     private final ErrorReport<? extends EventException, T> error;
@@ -59,23 +69,98 @@ public class ListenerExecutionResult<T extends AEvent<T>> implements IListenerEx
         return error;
     }
 
+    /**
+     * Marks the event as successfully processed.
+     * <p>
+     * The returned instance is shared, {@link #getHandler()} will only return the handler once the result
+     * is part of an {@link net.sxlver.eventlibrary.api.result.IEventResult}.
+     *
+     * @param event the event processed
+     * @return      a successful result
+     */
+    @SuppressWarnings("unchecked")
     public static <T extends AEvent<T>> IListenerExecutionResult<T> success(final @NonNull AEvent<T> event) {
-        return new ListenerExecutionResult<>(event.getCurrentHandler(), OK);
+        return (IListenerExecutionResult<T>) SUCCESS_RESULT;
     }
 
     public static <T extends AEvent<T>> IListenerExecutionResult<T> fail(final @NonNull AEvent<T> event, final EventException exception) {
-        return new ListenerExecutionResult<>(event.getCurrentHandler(), 0, new ErrorReport<>(exception));
+        return new ListenerExecutionResult<>(event.getCurrentHandler(), ERROR, new ErrorReport<>(exception));
+    }
+
+    /**
+     * Reports an expected failure described by {@code message}.
+     * <p>
+     * Unlike {@link #fail(AEvent, EventException)} no stack trace is captured, so failing this way is cheap
+     * enough to happen frequently.
+     *
+     * @param event   the event processed
+     * @param message describes the failure
+     * @return        a result reporting a {@link HandlerFailureException}
+     */
+    public static <T extends AEvent<T>> IListenerExecutionResult<T> fail(final @NonNull AEvent<T> event, final String message) {
+        return fail(event, new HandlerFailureException(message));
     }
 
+    /**
+     * Revokes a previous cancellation of the event.
+     * <p>
+     * The returned instance is shared, see {@link #success(AEvent)}.
+     *
+     * @param event the event processed
+     * @return      a result continuing the event
+     */
+    @SuppressWarnings("unchecked")
     public static <T extends AEvent<T>> IListenerExecutionResult<T> continueEvent(final @NonNull AEvent<T> event) {
-        return new ListenerExecutionResult<>(event.getCurrentHandler(), OK | CONTINUE);
+        return (IListenerExecutionResult<T>) CONTINUE_RESULT;
     }
 
+    /**
+     * Cancels the event.
+     * <p>
+     * The returned instance is shared, see {@link #success(AEvent)}.
+     *
+     * @param event the event processed
+     * @return      a result cancelling the event
+     */
+    @SuppressWarnings("unchecked")
     public static <T extends AEvent<T>> IListenerExecutionResult<T> cancel(final @NonNull AEvent<T> event) {
-        return new ListenerExecutionResult<>(event.getCurrentHandler(), OK | CANCEL);
+        return (IListenerExecutionResult<T>) CANCEL_RESULT;
     }
 
     public static <T extends AEvent<T>> IListenerExecutionResult<T> cancelWithError(final @NonNull AEvent<T> event, final EventException exception) {
         return new ListenerExecutionResult<>(event.getCurrentHandler(), ERROR | CANCEL, new ErrorReport<>(exception));
     }
+
+    /**
+     * Cancels the event, reporting an expected failure described by {@code message} without capturing a
+     * stack trace.
+     *
+     * @param event   the event processed
+     * @param message describes the failure
+     * @return        a result cancelling the event and reporting a {@link HandlerFailureException}
+     */
+    public static <T extends AEvent<T>> IListenerExecutionResult<T> cancelWithError(final @NonNull AEvent<T> event, final String message) {
+        return cancelWithError(event, new HandlerFailureException(message));
+    }
+
+    /**
+     * Returns a result equal to {@code result} that references {@code handler}.
+     * <p>
+     * Used internally to attach the handler to shared results once they're recorded in an
+     * {@link net.sxlver.eventlibrary.api.result.IEventResult}.
+     *
+     * @param result  the result returned by the handler
+     * @param handler the handler that returned the result
+     * @return        {@code result} itself if it already references a handler, a copy referencing
+     *                {@code handler} otherwise
+     */
+    @ApiStatus.Internal
+    public static <T extends AEvent<T>> IListenerExecutionResult<T> attach(final @NonNull IListenerExecutionResult<T> result,
+                                                                           final IEventHandler<T> handler) {
+        if (result.getHandler() != null || !(result instanceof ListenerExecutionResult))
+            return result;
+
+        final ListenerExecutionResult<T> shared = (ListenerExecutionResult<T>) result;
+        return new ListenerExecutionResult<>(handler, shared.flags, shared.error);
+    }
 }
@@ -0,0 +1,58 @@
+package net.sxlver.eventlibrary.core.ring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * @see WaitStrategy#blocking()
+ */
+final class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    /* lets the producer skip the lock as long as the consumer is busy */
+    private final AtomicBoolean waiting = new AtomicBoolean();
+
+    @Override
+    public long waitFor(final long sequence, final LongSupplier cursor, final BooleanSupplier halted) {
+        long available = cursor.getAsLong();
+        if (available >= sequence)
+            return available;
+
+        lock.lock();
+        try {
+            while ((available = cursor.getAsLong()) < sequence && !halted.getAsBoolean()) {
+                waiting.set(true);
+                /* re-check after announcing to wait, the producer might have published in between */
+                if ((available = cursor.getAsLong()) >= sequence)
+                    break;
+                try {
+                    published.awaitNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                } catch (InterruptedException ignored) {
+                    /* the consumer only stops once halted, an interrupt is treated like a spurious wakeup */
+                }
+            }
+        } finally {
+            waiting.set(false);
+            lock.unlock();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAll() {
+        if (!waiting.get())
+            return;
+
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package net.sxlver.eventlibrary.core.ring;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * @see WaitStrategy#busySpin()
+ */
+final class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(final long sequence, final LongSupplier cursor, final BooleanSupplier halted) {
+        long available;
+        do {
+            available = cursor.getAsLong();
+        } while (available < sequence && !halted.getAsBoolean());
+        return available;
+    }
+}
@@ -0,0 +1,295 @@
+package net.sxlver.eventlibrary.core.ring;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import lombok.NonNull;
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches events of a single type through a ring of preallocated, reusable event instances.
+ * <p>
+ * Instead of creating a new event per dispatch, the producer claims the next slot of the ring, fills the
+ * event instance stored in it and publishes it. A dedicated consumer thread dispatches published events to
+ * the {@link EventBus} through {@link EventBus#fireEvent(AEvent)} in the order they have been published.
+ * Once the ring has wrapped around, slots are reused, so steady state dispatching doesn't allocate at all.
+ * <pre>{@code
+ * final RingDispatcher<PositionEvent> dispatcher = RingDispatcher.builder(bus, PositionEvent::new)
+ *         .bufferSize(4096)
+ *         .waitStrategy(WaitStrategy.yielding())
+ *         .build();
+ *
+ * dispatcher.publish((event, entity) -> event.set(entity.getId(), entity.getX(), entity.getY()), entity);
+ * }</pre>
+ * The dispatcher supports a <b>single producer</b> only: all events have to be published from the same
+ * thread, or the publishing threads have to be synchronised externally. Since event instances are reused,
+ * handlers must not keep references to an event beyond their invocation, and events have to be fully
+ * overwritten by the producer.
+ *
+ * @param <T> the type of events dispatched
+ * @author Steve Oberst
+ * @see    WaitStrategy
+ */
+public final class RingDispatcher<T extends AEvent<T>> implements AutoCloseable {
+
+    private static final AtomicInteger DISPATCHER_COUNTER = new AtomicInteger();
+
+    private final EventBus bus;
+    private final T[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final Thread consumer;
+
+    /* highest sequence published by the producer */
+    private final Sequence cursor = new Sequence(-1);
+    /* highest sequence dispatched by the consumer */
+    private final Sequence dispatched = new Sequence(-1);
+
+    /* only accessed by the producer */
+    private long claimed = -1;
+    private long cachedDispatched = -1;
+
+    private volatile boolean halted;
+
+    @SuppressWarnings("unchecked")
+    private RingDispatcher(final Builder<T> builder) {
+        this.bus = builder.bus;
+        this.waitStrategy = builder.waitStrategy;
+        this.slots = (T[]) new AEvent[builder.bufferSize];
+        this.mask = builder.bufferSize - 1;
+        for (int i = 0; i < slots.length; i++)
+            slots[i] = builder.factory.get();
+
+        final ThreadFactory threadFactory = builder.threadFactory != null ? builder.threadFactory : defaultThreadFactory();
+        this.consumer = threadFactory.newThread(this::consume);
+        consumer.start();
+    }
+
+    /**
+     * Creates a new builder for a dispatcher of the events created by {@code factory}.
+     *
+     * @param bus     the bus events will be dispatched to, not null
+     * @param factory creates the event instances the ring is filled with, not null
+     * @return        a builder initialised with the default configuration
+     */
+    public static <T extends AEvent<T>> Builder<T> builder(final @NonNull EventBus bus, final @NonNull Supplier<? extends T> factory) {
+        return new Builder<>(bus, factory);
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        final int dispatcher = DISPATCHER_COUNTER.incrementAndGet();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "EventLibrary-ring-" + dispatcher);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Claims the next slot of the ring, waiting for the consumer if the ring is full.
+     * <p>
+     * The event of the slot can be obtained through {@link #get(long)} and has to be published through
+     * {@link #publish(long)} once it has been filled.
+     *
+     * @return the sequence of the claimed slot
+     * @throws IllegalStateException if the dispatcher has been closed
+     */
+    public long next() {
+        if (halted)
+            throw new IllegalStateException("Dispatcher has been closed.");
+
+        final long next = ++claimed;
+        final long wrapPoint = next - slots.length;
+        /* the consumer sequence is only read again once the cached value no longer suffices */
+        if (wrapPoint > cachedDispatched) {
+            long current;
+            while (wrapPoint > (current = dispatched.get())) {
+                /* the consumer won't free any more slots once halted */
+                if (halted)
+                    throw new IllegalStateException("Dispatcher has been closed.");
+                LockSupport.parkNanos(1L);
+            }
+            cachedDispatched = current;
+        }
+        return next;
+    }
+
+    /**
+     * Returns the event stored in the slot of {@code sequence}.
+     *
+     * @param sequence a sequence claimed through {@link #next()}
+     * @return         the reusable event instance of the slot
+     */
+    public T get(final long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    /**
+     * Publishes the event of a claimed slot, making it visible to the consumer.
+     *
+     * @param sequence a sequence claimed through {@link #next()}
+     */
+    public void publish(final long sequence) {
+        cursor.set(sequence);
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Claims the next slot, lets {@code translator} fill its event and publishes it.
+     *
+     * @param translator fills the reused event instance, not null
+     */
+    public void publish(final @NonNull Consumer<? super T> translator) {
+        final long sequence = next();
+        try {
+            translator.accept(get(sequence));
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Claims the next slot, lets {@code translator} fill its event from {@code argument} and publishes it.
+     * <p>
+     * Prefer this method over {@link #publish(Consumer)} on hot paths: a non-capturing translator is a
+     * constant, whereas a lambda capturing its arguments is allocated on every call.
+     *
+     * @param translator fills the reused event instance from {@code argument}, not null
+     * @param argument   passed to the translator
+     */
+    public <A> void publish(final @NonNull BiConsumer<? super T, ? super A> translator, final A argument) {
+        final long sequence = next();
+        try {
+            translator.accept(get(sequence), argument);
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * @return the number of slots of the ring
+     */
+    public int getBufferSize() {
+        return slots.length;
+    }
+
+    /**
+     * @return the number of events published but not yet dispatched
+     */
+    public long getBacklog() {
+        return cursor.get() - dispatched.get();
+    }
+
+    /**
+     * Stops accepting new events and waits for the consumer to dispatch all events already published.
+     * <p>
+     * The wait isn't interruptible, an interrupt received meanwhile is restored once the consumer has stopped.
+     */
+    @Override
+    public void close() {
+        halted = true;
+        waitStrategy.signalAll();
+        if (consumer != Thread.currentThread())
+            Uninterruptibles.joinUninterruptibly(consumer);
+    }
+
+    private void consume() {
+        final LongSupplier published = cursor::get;
+        final BooleanSupplier stopped = () -> halted;
+        long next = dispatched.get() + 1;
+        try {
+            while (true) {
+                final long available = waitStrategy.waitFor(next, published, stopped);
+                if (available < next) {
+                    /* halted, but events may have been published right before */
+                    if (halted && cursor.get() < next)
+                        return;
+                    continue;
+                }
+
+                for (; next <= available; next++) {
+                    try {
+                        bus.fireEvent(slots[(int) (next & mask)]);
+                    } catch (Throwable t) {
+                        final Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                    }
+                }
+                dispatched.set(available);
+            }
+        } finally {
+            /* a producer waiting for free slots fails instead of waiting for a consumer which is gone */
+            halted = true;
+        }
+    }
+
+    /**
+     * Builder for {@link RingDispatcher} instances.
+     *
+     * @param <T> the type of events dispatched
+     */
+    public static final class Builder<T extends AEvent<T>> {
+        private final EventBus bus;
+        private final Supplier<? extends T> factory;
+        private int bufferSize = 1024;
+        private WaitStrategy waitStrategy = WaitStrategy.blocking();
+        private ThreadFactory threadFactory;
+
+        Builder(final EventBus bus, final Supplier<? extends T> factory) {
+            this.bus = bus;
+            this.factory = factory;
+        }
+
+        /**
+         * Sets the number of slots of the ring.
+         *
+         * @param bufferSize the number of slots, a power of two. Defaults to 1024
+         * @return           this builder
+         */
+        public Builder<T> bufferSize(final int bufferSize) {
+            if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1)
+                throw new IllegalArgumentException("Buffer size must be a power of two.");
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets how the consumer waits for new events.
+         *
+         * @param waitStrategy the wait strategy, not null. Defaults to {@link WaitStrategy#blocking()}
+         * @return             this builder
+         */
+        public Builder<T> waitStrategy(final @NonNull WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the factory the consumer thread is created by.
+         *
+         * @param threadFactory the factory, not null. Defaults to a factory creating a daemon thread
+         * @return              this builder
+         */
+        public Builder<T> threadFactory(final @NonNull ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /**
+         * Creates the dispatcher, fills the ring and starts the consumer thread.
+         *
+         * @return a new {@code RingDispatcher}
+         */
+        public RingDispatcher<T> build() {
+            return new RingDispatcher<>(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.sxlver.eventlibrary.core.ring;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A sequence number padded to a cache line of its own.
+ * <p>
+ * The producer and the consumer of a {@link RingDispatcher} each write their own sequence at a very high rate.
+ * Without padding both sequences could end up in the same cache line, which would then bounce between the
+ * cores on every single write.
+ *
+ * @author Steve Oberst
+ */
+final class Sequence extends RightPadding {
+
+    private static final AtomicLongFieldUpdater<Value> UPDATER = AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+
+    Sequence(final long initial) {
+        this.value = initial;
+    }
+
+    long get() {
+        return value;
+    }
+
+    /**
+     * Sets the sequence with release semantics, which is sufficient as there is only one writer per sequence.
+     */
+    void set(final long value) {
+        UPDATER.lazySet(this, value);
+    }
+}
+
+class LeftPadding {
+    long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class Value extends LeftPadding {
+    volatile long value;
+}
+
+class RightPadding extends Value {
+    long p9, p10, p11, p12, p13, p14, p15;
+}
@@ -0,0 +1,62 @@
+package net.sxlver.eventlibrary.core.ring;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides how the consumer of a {@link RingDispatcher} waits for the producer to publish new events.
+ * <p>
+ * The strategies trade CPU usage for latency: {@link #busySpin()} reacts the fastest but keeps a core busy
+ * at all times, {@link #blocking()} doesn't use any CPU while idle but has to wake the consumer up.
+ *
+ * @author Steve Oberst
+ * @see    RingDispatcher.Builder#waitStrategy(WaitStrategy)
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until the event at {@code sequence} has been published.
+     *
+     * @param sequence the sequence the consumer is waiting for
+     * @param cursor   returns the highest published sequence
+     * @param halted   returns whether the dispatcher has been closed
+     * @return         the highest published sequence, which is lower than {@code sequence} only if the
+     *                 dispatcher has been closed
+     */
+    long waitFor(long sequence, LongSupplier cursor, BooleanSupplier halted);
+
+    /**
+     * Called by the producer after publishing an event, and on close, to wake up a waiting consumer.
+     */
+    default void signalAll() {}
+
+    /**
+     * Spins in a tight loop. Offers the lowest latency, but the consumer keeps a core busy even while idle,
+     * so it should only be used if there are more cores than busy threads.
+     *
+     * @return a busy spinning wait strategy
+     */
+    static WaitStrategy busySpin() {
+        return new BusySpinWaitStrategy();
+    }
+
+    /**
+     * Spins for a short while and yields the thread afterwards. A good compromise if low latency is required
+     * but other threads have to make progress as well.
+     *
+     * @return a yielding wait strategy
+     */
+    static WaitStrategy yielding() {
+        return new YieldingWaitStrategy();
+    }
+
+    /**
+     * Parks the consumer until the producer publishes an event. Uses no CPU while idle at the cost of having
+     * to wake the consumer up.
+     *
+     * @return a blocking wait strategy
+     */
+    static WaitStrategy blocking() {
+        return new BlockingWaitStrategy();
+    }
+}
@@ -0,0 +1,25 @@
+package net.sxlver.eventlibrary.core.ring;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * @see WaitStrategy#yielding()
+ */
+final class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(final long sequence, final LongSupplier cursor, final BooleanSupplier halted) {
+        long available;
+        int counter = SPIN_TRIES;
+        while ((available = cursor.getAsLong()) < sequence && !halted.getAsBoolean()) {
+            if (counter > 0)
+                counter--;
+            else
+                Thread.yield();
+        }
+        return available;
+    }
+}
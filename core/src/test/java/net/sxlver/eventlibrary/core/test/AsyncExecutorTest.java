@@ -0,0 +1,49 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AsyncExecutorTest {
+
+    @Test
+    public void testCustomExecutor() {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicReference<String> thread = new AtomicReference<>();
+        bus.registerListener(event -> {
+            thread.set(Thread.currentThread().getName());
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "custom-dispatch"));
+        try {
+            bus.dispatchEventAsync(new DummyEvent(), executor).join();
+        } finally {
+            executor.shutdown();
+        }
+        MatcherAssert.assertThat("Event wasn't dispatched on the given executor.", thread.get(), Matchers.is("custom-dispatch"));
+    }
+
+    @Test
+    public void testVirtualThreads() {
+        final EventBus bus = EventBus.builder().useVirtualThreads().build();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        bus.registerListener(event -> {
+            thread.set(Thread.currentThread());
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        bus.dispatchEventAsync(new DummyEvent()).join();
+        MatcherAssert.assertThat("Event was dispatched on the common pool.", !(thread.get() instanceof ForkJoinWorkerThread));
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,130 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.error.ErrorHandler;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncHandlerTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().executor(executor).build();
+        final List<CompletableFuture<IListenerExecutionResult<DummyEvent>>> pending = new CopyOnWriteArrayList<>();
+        final AtomicInteger received = new AtomicInteger();
+
+        bus.registerAsyncListener(event -> {
+            final CompletableFuture<IListenerExecutionResult<DummyEvent>> stage = new CompletableFuture<>();
+            pending.add(stage);
+            return stage;
+        }, DummyEvent.class, EventPriority.LOW, 1, false);
+        bus.registerListener(event -> {
+            received.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class, EventPriority.HIGH);
+
+        // a single thread starts all dispatches while none of the stages has completed
+        final List<CompletableFuture<IEventResult<DummyEvent>>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            results.add(bus.dispatchEventAsync(new DummyEvent()));
+
+        awaitSize(pending, 100);
+        MatcherAssert.assertThat("Handler was invoked before the stage of the previous handler completed.", received.get(), Matchers.is(0));
+
+        final DummyEvent event = new DummyEvent();
+        for (int i = 0; i < pending.size(); i++)
+            pending.get(i).complete(i % 2 == 0 ? ListenerExecutionResult.cancel(event) : ListenerExecutionResult.success(event));
+
+        int cancelled = 0;
+        for (final CompletableFuture<IEventResult<DummyEvent>> result : results) {
+            if (result.join().cancelled()) cancelled++;
+        }
+        MatcherAssert.assertThat("Results of asynchronous handlers weren't applied.", cancelled, Matchers.is(50));
+        MatcherAssert.assertThat("Cancelled events were passed to the next handler.", received.get(), Matchers.is(50));
+    }
+
+    @Test
+    public void testSubscriber() {
+        final EventBus bus = EventBus.builder().executor(executor).build();
+        final Listener listener = new Listener();
+        bus.registerListener(listener);
+
+        MatcherAssert.assertThat("Asynchronous subscriber wasn't awaited.", bus.dispatchEvent(new DummyEvent()).cancelled());
+        MatcherAssert.assertThat("Asynchronous subscriber wasn't chained.", bus.dispatchEventAsync(new DummyEvent()).join().cancelled());
+        MatcherAssert.assertThat("Asynchronous subscriber wasn't called.", listener.calls.get(), Matchers.is(2));
+    }
+
+    @Test
+    public void testFailure() {
+        final List<EventException> exceptions = new CopyOnWriteArrayList<>();
+        final EventBus bus = EventBus.builder().executor(executor).errorHandler(new ErrorHandler() {
+            @Override
+            public void onError(final AEvent<?> event, final IListenerExecutionResult<?> result) {
+            }
+
+            @Override
+            public void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+                exceptions.add(exception);
+            }
+        }).build();
+
+        final CompletableFuture<IListenerExecutionResult<DummyEvent>> stage = new CompletableFuture<>();
+        bus.registerAsyncListener(event -> stage, DummyEvent.class);
+        final CompletableFuture<IEventResult<DummyEvent>> result = bus.dispatchEventAsync(new DummyEvent());
+        stage.completeExceptionally(new IllegalStateException());
+
+        MatcherAssert.assertThat("Failed handler was recorded.", result.join().getExecutionStack(), Matchers.empty());
+        MatcherAssert.assertThat("Failure wasn't passed to the error handler.", exceptions, Matchers.hasSize(1));
+        MatcherAssert.assertThat("Failure wasn't passed to the error handler.", exceptions.get(0).getCause(), Matchers.instanceOf(IllegalStateException.class));
+    }
+
+    private static void awaitSize(final List<?> list, final int size) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline)
+            Thread.yield();
+    }
+
+    static class Listener {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @EventSubscriber
+        public CompletableFuture<IListenerExecutionResult<DummyEvent>> onEvent(final DummyEvent event) {
+            calls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> ListenerExecutionResult.cancel(event));
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
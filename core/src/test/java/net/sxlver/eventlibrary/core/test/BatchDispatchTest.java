@@ -0,0 +1,73 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchDispatchTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicInteger received = new AtomicInteger();
+        final AtomicInteger receivedCancelled = new AtomicInteger();
+
+        // cancels every even event, continues every fourth event again
+        bus.registerListener(event -> event.index % 2 == 0 ? ListenerExecutionResult.cancel(event) : ListenerExecutionResult.success(event),
+                DummyEvent.class, EventPriority.LOW);
+        bus.registerListener(event -> {
+            receivedCancelled.incrementAndGet();
+            return event.index % 4 == 0 ? ListenerExecutionResult.continueEvent(event) : ListenerExecutionResult.success(event);
+        }, DummyEvent.class, EventPriority.DEFAULT, 1, true);
+        bus.registerListener(event -> {
+            received.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class, EventPriority.HIGH);
+
+        final List<DummyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            events.add(new DummyEvent(i));
+
+        final IBatchResult<DummyEvent> result = bus.dispatchBatch(DummyEvent.class, events);
+        MatcherAssert.assertThat("Batch result has the wrong size.", result.size(), Matchers.is(100));
+        MatcherAssert.assertThat("Handler ignoring cancelled events didn't receive all events.", receivedCancelled.get(), Matchers.is(100));
+        MatcherAssert.assertThat("Cancelled events were passed to a handler.", received.get(), Matchers.is(75));
+        MatcherAssert.assertThat("Wrong number of events cancelled.", result.cancelledCount(), Matchers.is(25));
+        for (int i = 0; i < 100; i++) {
+            MatcherAssert.assertThat("Event at the wrong index.", result.getEvent(i), Matchers.sameInstance(events.get(i)));
+            MatcherAssert.assertThat("Event " + i + " has the wrong cancelled state.", result.cancelled(i), Matchers.is(i % 2 == 0 && i % 4 != 0));
+        }
+    }
+
+    @Test
+    public void testMixedTypes() {
+        final EventBus bus = EventBus.builder().build();
+        final List<DummyEvent> events = Collections.singletonList(new SubEvent(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bus.dispatchBatch(DummyEvent.class, events));
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {
+        private final int index;
+
+        DummyEvent(final int index) {
+            this.index = index;
+        }
+    }
+
+    static class SubEvent extends DummyEvent {
+        SubEvent(final int index) {
+            super(index);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.annotation.Prioritized;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.HandlerList;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchSubscriberTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final Listener listener = new Listener();
+        final List<Integer> received = new ArrayList<>();
+        final int[] calls = new int[1];
+
+        final Object handler = bus.registerListener(listener).getHandlers().iterator().next();
+        MatcherAssert.assertThat("Batch subscriber wasn't registered as batch handler.", handler, Matchers.instanceOf(HandlerList.BatchHandler.class));
+
+        bus.registerBatchListener(events -> {
+            calls[0]++;
+            events.forEach(event -> received.add(event.index));
+            return null;
+        }, DummyEvent.class, EventPriority.HIGH, 1, false);
+
+        final List<DummyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            events.add(new DummyEvent(i));
+
+        final IBatchResult<DummyEvent> result = bus.dispatchBatch(DummyEvent.class, events);
+        MatcherAssert.assertThat("Batch subscriber wasn't called once.", listener.batches, Matchers.is(1));
+        MatcherAssert.assertThat("Anonymous batch handler wasn't called once.", calls[0], Matchers.is(1));
+        MatcherAssert.assertThat("Cancelled events were passed to a batch handler.", received, Matchers.contains(1, 3, 5, 7, 9));
+        MatcherAssert.assertThat("Batch subscriber results weren't applied.", result.cancelledCount(), Matchers.is(5));
+
+        MatcherAssert.assertThat("Single event wasn't passed to batch subscriber.", bus.fireEvent(new DummyEvent(2)));
+        MatcherAssert.assertThat("Single event wasn't passed to batch subscriber.", listener.batches, Matchers.is(2));
+        MatcherAssert.assertThat("Single event wasn't passed to anonymous batch handler.", received, Matchers.hasSize(5));
+        bus.fireEvent(new DummyEvent(3));
+        MatcherAssert.assertThat("Single event wasn't passed to anonymous batch handler.", received, Matchers.hasSize(6));
+    }
+
+    @Test
+    public void testReflective() {
+        final EventBus bus = EventBus.builder().build();
+        final PrivateListener listener = new PrivateListener();
+        bus.registerListener(listener);
+
+        final List<DummyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            events.add(new DummyEvent(i));
+
+        final IBatchResult<DummyEvent> result = bus.dispatchBatch(DummyEvent.class, events);
+        MatcherAssert.assertThat("Private batch subscriber didn't receive the batch.", listener.received, Matchers.is(10));
+        MatcherAssert.assertThat("Batch subscriber without results cancelled events.", result.cancelledCount(), Matchers.is(0));
+    }
+
+    static class Listener {
+        private int batches;
+
+        // cancels all events with an even index
+        @EventSubscriber(batch = true)
+        @Prioritized(priority = EventPriority.LOW)
+        public List<IListenerExecutionResult<DummyEvent>> onEvents(final List<DummyEvent> events) {
+            batches++;
+            final List<IListenerExecutionResult<DummyEvent>> results = new ArrayList<>(events.size());
+            for (final DummyEvent event : events)
+                results.add(event.index % 2 == 0 ? ListenerExecutionResult.cancel(event) : ListenerExecutionResult.success(event));
+            return results;
+        }
+    }
+
+    static class PrivateListener {
+        private int received;
+
+        @EventSubscriber(batch = true)
+        private void onEvents(final List<DummyEvent> events) {
+            received += events.size();
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {
+        private final int index;
+
+        DummyEvent(final int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.DispatchContext;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.core.DispatchStrategy;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DispatchContextTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNested() {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicReference<IEventHandler<?>> restored = new AtomicReference<>();
+        final AtomicReference<IEventHandler<?>> inner = new AtomicReference<>();
+
+        final IEventHandler<OtherEvent> innerHandler = bus.registerListener(event -> {
+            inner.set(event.getCurrentHandler());
+            return ListenerExecutionResult.success(event);
+        }, OtherEvent.class);
+        final IEventHandler<DummyEvent> outerHandler = bus.registerListener(event -> {
+            bus.dispatchEvent(new OtherEvent());
+            restored.set(event.getCurrentHandler());
+            return ListenerExecutionResult.fail(event, "expected");
+        }, DummyEvent.class);
+
+        final DummyEvent event = new DummyEvent();
+        final IEventResult<DummyEvent> result = bus.dispatchEvent(event);
+
+        MatcherAssert.assertThat("Nested dispatch didn't see its own handler.", inner.get(), Matchers.sameInstance(innerHandler));
+        MatcherAssert.assertThat("Outer handler wasn't restored after a nested dispatch.", restored.get(), Matchers.sameInstance(outerHandler));
+        MatcherAssert.assertThat("Failure didn't reference its handler.", result.getExecutionStack().getFirst().getHandler(), Matchers.sameInstance(outerHandler));
+        MatcherAssert.assertThat("Handler leaked out of the dispatch.", event.getCurrentHandler(), Matchers.nullValue());
+        MatcherAssert.assertThat("Context leaked out of the dispatch.", DispatchContext.current().getHandler(), Matchers.nullValue());
+    }
+
+    @Test
+    public void testParallel() {
+        final EventBus bus = EventBus.builder()
+                .dispatchStrategy(DispatchStrategy.PARALLEL)
+                .parallelExecutor(executor)
+                .build();
+
+        // every handler waits for all others, so all of them handle the same event instance at once
+        final CountDownLatch latch = new CountDownLatch(4);
+        final Map<IEventHandler<?>, IEventHandler<?>> seen = new ConcurrentHashMap<>();
+        final List<IEventHandler<DummyEvent>> handlers = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final AtomicReference<IEventHandler<DummyEvent>> self = new AtomicReference<>();
+            self.set(bus.registerListener(event -> {
+                latch.countDown();
+                await(latch);
+                seen.put(self.get(), event.getCurrentHandler());
+                return ListenerExecutionResult.success(event);
+            }, DummyEvent.class, EventPriority.DEFAULT, i));
+            handlers.add(self.get());
+        }
+
+        bus.dispatchEvent(new DummyEvent());
+        for (final IEventHandler<DummyEvent> handler : handlers)
+            MatcherAssert.assertThat("Concurrent handlers saw each other.", seen.get(handler), Matchers.sameInstance(handler));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+
+    static class OtherEvent extends AEvent<OtherEvent> {}
+}
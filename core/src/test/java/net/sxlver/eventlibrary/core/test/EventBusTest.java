@@ -0,0 +1,108 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.common.exception.HandlerInvocationException;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.error.ErrorHandler;
+import net.sxlver.eventlibrary.core.metrics.MetricsSink;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventBusTest {
+
+    @Test
+    public void testIsolation() {
+        final EventBus first = EventBus.builder().build();
+        final EventBus second = EventBus.builder().build();
+        final Listener listener = new Listener();
+
+        first.registerListener(listener);
+        second.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Handler received an event dispatched on another bus.", listener.calls, Matchers.is(0));
+
+        first.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Handler didn't receive an event dispatched on its bus.", listener.calls, Matchers.is(1));
+    }
+
+    @Test
+    public void testErrorHandlerAndMetrics() {
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicInteger exceptions = new AtomicInteger();
+        final AtomicInteger invocations = new AtomicInteger();
+        final EventBus bus = EventBus.builder()
+                .errorHandler(new ErrorHandler() {
+                    @Override
+                    public void onError(final AEvent<?> event, final IListenerExecutionResult<?> result) {
+                        errors.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+                        exceptions.incrementAndGet();
+                    }
+                })
+                .metricsSink(new MetricsSink() {
+                    @Override
+                    public void onHandlerInvoked(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                                 final IListenerExecutionResult<?> result, final long durationNanos) {
+                        invocations.incrementAndGet();
+                    }
+                })
+                .build();
+
+        bus.registerListener(event -> ListenerExecutionResult.fail(event, new EventException("expected")), DummyEvent.class);
+        bus.registerListener(event -> { throw new IllegalStateException("expected"); }, DummyEvent.class);
+        bus.dispatchEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Reported error wasn't passed to the error handler.", errors.get(), Matchers.is(1));
+        MatcherAssert.assertThat("Thrown exception wasn't passed to the error handler.", exceptions.get(), Matchers.is(1));
+        MatcherAssert.assertThat("Handler invocation wasn't measured.", invocations.get(), Matchers.is(1));
+    }
+
+    @Test
+    public void testNullResult() {
+        final List<EventException> exceptions = new ArrayList<>();
+        final EventBus bus = EventBus.builder()
+                .errorHandler(new ErrorHandler() {
+                    @Override
+                    public void onError(final AEvent<?> event, final IListenerExecutionResult<?> result) {
+                    }
+
+                    @Override
+                    public void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+                        exceptions.add(exception);
+                    }
+                })
+                .build();
+        bus.registerListener(event -> null, DummyEvent.class);
+
+        bus.dispatchEvent(new DummyEvent());
+        bus.fireEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Missing result wasn't passed to the error handler.", exceptions, Matchers.hasSize(2));
+        MatcherAssert.assertThat("Missing result wasn't reported as a failed invocation.", exceptions.get(0),
+                Matchers.instanceOf(HandlerInvocationException.class));
+    }
+
+    static class Listener {
+        private int calls;
+
+        @EventSubscriber
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            calls++;
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,198 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.coalesce.EventCoalescer;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventCoalescerTest {
+
+    @Test
+    public void testReplace() {
+        final EventBus bus = EventBus.builder().build();
+        final Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+        bus.registerListener(event -> {
+            received.computeIfAbsent(event.entity, key -> Collections.synchronizedList(new ArrayList<>())).add(event.position);
+            return ListenerExecutionResult.success(event);
+        }, PositionEvent.class);
+
+        final EventCoalescer coalescer = EventCoalescer.builder(bus)
+                .coalesce(PositionEvent.class, event -> event.entity)
+                .window(1, TimeUnit.HOURS)
+                .build();
+        for (int i = 0; i < 1000; i++)
+            coalescer.submit(new PositionEvent(i % 4, i));
+
+        MatcherAssert.assertThat("Events were dispatched before the window has ended.", received.isEmpty(), Matchers.is(true));
+        MatcherAssert.assertThat("Events weren't kept per key.", coalescer.size(), Matchers.is(4));
+        coalescer.close();
+
+        MatcherAssert.assertThat("Not every key received its event.", received.size(), Matchers.is(4));
+        for (final Map.Entry<Integer, List<Integer>> entry : received.entrySet())
+            MatcherAssert.assertThat("Key didn't receive its newest event only.", entry.getValue(), Matchers.contains(996 + entry.getKey()));
+        MatcherAssert.assertThat("Coalesced events weren't counted.", coalescer.getCoalescedCount(), Matchers.is(996L));
+    }
+
+    @Test
+    public void testMerge() {
+        final EventBus bus = EventBus.builder().build();
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        bus.registerListener(event -> {
+            received.add(event.position);
+            return ListenerExecutionResult.success(event);
+        }, PositionEvent.class);
+
+        final EventCoalescer coalescer = EventCoalescer.builder(bus)
+                .coalesce(PositionEvent.class, event -> event.entity,
+                        (older, newer) -> new PositionEvent(newer.entity, older.position + newer.position))
+                .window(1, TimeUnit.HOURS)
+                .build();
+        MatcherAssert.assertThat("First event was reported as coalesced.", coalescer.submit(new PositionEvent(0, 1)), Matchers.is(false));
+        MatcherAssert.assertThat("Second event wasn't reported as coalesced.", coalescer.submit(new PositionEvent(0, 2)), Matchers.is(true));
+        coalescer.submit(new PositionEvent(0, 3));
+        coalescer.flush();
+        coalescer.submit(new PositionEvent(0, 4));
+        coalescer.close();
+
+        MatcherAssert.assertThat("Events weren't merged per window.", received, Matchers.contains(6, 4));
+    }
+
+    @Test
+    public void testWindow() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final CountDownLatch latch = new CountDownLatch(1);
+        bus.registerListener(event -> {
+            latch.countDown();
+            return ListenerExecutionResult.success(event);
+        }, PositionEvent.class);
+
+        final EventCoalescer coalescer = EventCoalescer.builder(bus)
+                .coalesce(PositionEvent.class, event -> event.entity)
+                .window(5, TimeUnit.MILLISECONDS)
+                .build();
+        coalescer.submit(new PositionEvent(0, 0));
+        MatcherAssert.assertThat("Pending event wasn't dispatched at the end of the window.", latch.await(10, TimeUnit.SECONDS), Matchers.is(true));
+        coalescer.close();
+    }
+
+    @Test
+    public void testWindowError() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final CountDownLatch latch = new CountDownLatch(1);
+        bus.registerListener(event -> {
+            if (event.position == 0) throw new AssertionError("first window");
+            latch.countDown();
+            return ListenerExecutionResult.success(event);
+        }, PositionEvent.class);
+
+        final List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        final EventCoalescer coalescer = EventCoalescer.builder(bus)
+                .coalesce(PositionEvent.class, event -> event.entity)
+                .window(5, TimeUnit.MILLISECONDS)
+                .threadFactory(runnable -> {
+                    final Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+                    return thread;
+                })
+                .build();
+        coalescer.submit(new PositionEvent(0, 0));
+        while (uncaught.isEmpty())
+            Thread.sleep(1);
+        coalescer.submit(new PositionEvent(0, 1));
+
+        MatcherAssert.assertThat("Windows ended after an error.", latch.await(10, TimeUnit.SECONDS), Matchers.is(true));
+        MatcherAssert.assertThat("Error wasn't reported.", uncaught.get(0), Matchers.instanceOf(AssertionError.class));
+        coalescer.close();
+    }
+
+    @Test
+    public void testSubmitWhileClosing() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicInteger received = new AtomicInteger();
+        bus.registerListener(event -> {
+            received.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, PositionEvent.class);
+
+        final EventCoalescer coalescer = EventCoalescer.builder(bus)
+                .coalesce(PositionEvent.class, event -> event.entity)
+                .window(1, TimeUnit.HOURS)
+                .build();
+        final AtomicInteger accepted = new AtomicInteger();
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            final int producerIndex = p;
+            final AtomicInteger sequence = new AtomicInteger();
+            final Thread producer = new Thread(() -> {
+                try {
+                    while (true) {
+                        /* unique keys, so every accepted event has to be dispatched */
+                        coalescer.submit(new PositionEvent(sequence.incrementAndGet() * 4 + producerIndex, 0));
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException closed) {
+                    // expected once the coalescer has been closed
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        Thread.sleep(20);
+        coalescer.close();
+        for (final Thread producer : producers)
+            producer.join();
+
+        MatcherAssert.assertThat("Events submitted while closing weren't dispatched.", received.get(), Matchers.is(accepted.get()));
+    }
+
+    @Test
+    public void testUncoalesced() {
+        final EventBus bus = EventBus.builder().build();
+        final List<Object> received = new ArrayList<>();
+        bus.registerListener(event -> {
+            received.add(event);
+            return ListenerExecutionResult.success(event);
+        }, OtherEvent.class);
+        bus.registerListener(event -> {
+            received.add(event);
+            return ListenerExecutionResult.success(event);
+        }, PositionEvent.class);
+
+        final EventCoalescer coalescer = EventCoalescer.builder(bus)
+                .coalesce(PositionEvent.class, event -> event.entity)
+                .window(1, TimeUnit.HOURS)
+                .build();
+        coalescer.submit(new OtherEvent());
+        coalescer.submit(new PositionEvent(null, 0));
+        MatcherAssert.assertThat("Events that aren't coalesced weren't dispatched right away.", received, Matchers.hasSize(2));
+        coalescer.close();
+    }
+
+    static class PositionEvent extends AEvent<PositionEvent> {
+        private final Integer entity;
+        private final int position;
+
+        PositionEvent(final Integer entity, final int position) {
+            this.entity = entity;
+            this.position = position;
+        }
+    }
+
+    static class OtherEvent extends AEvent<OtherEvent> {
+    }
+}
@@ -0,0 +1,207 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.queue.EventQueue;
+import net.sxlver.eventlibrary.core.queue.OverflowPolicy;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventQueueTest {
+
+    @Test
+    public void testOrdering() {
+        final EventBus bus = EventBus.builder().build();
+        final Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+        bus.registerListener(event -> {
+            received.computeIfAbsent(event.key, key -> Collections.synchronizedList(new ArrayList<>())).add(event.id);
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final EventQueue queue = EventQueue.builder(bus)
+                .capacity(16)
+                .partitions(4)
+                .maxBatchSize(8)
+                .key(event -> ((DummyEvent) event).key)
+                .build();
+        for (int i = 0; i < 1000; i++)
+            queue.submit(new DummyEvent(i % 8, i));
+        queue.close();
+
+        MatcherAssert.assertThat("Not every key received its events.", received.size(), Matchers.is(8));
+        for (final Map.Entry<Integer, List<Integer>> entry : received.entrySet()) {
+            MatcherAssert.assertThat("Not all events of a key were dispatched.", entry.getValue(), Matchers.hasSize(125));
+            for (int i = 0; i < entry.getValue().size(); i++)
+                MatcherAssert.assertThat("Events of the same key were reordered.", entry.getValue().get(i), Matchers.is(i * 8 + entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testDropNewest() throws InterruptedException {
+        MatcherAssert.assertThat("The newest event wasn't dropped.", overflow(OverflowPolicy.DROP_NEWEST), Matchers.contains(0, 1, 2));
+    }
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        MatcherAssert.assertThat("The oldest event wasn't dropped.", overflow(OverflowPolicy.DROP_OLDEST), Matchers.contains(0, 2, 3));
+    }
+
+    @Test
+    public void testCallerRuns() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        bus.registerListener(event -> {
+            if (event.id == 0) await(release);
+            received.add(event.id);
+            threads.add(Thread.currentThread());
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final EventQueue queue = EventQueue.builder(bus).capacity(2).overflowPolicy(OverflowPolicy.CALLER_RUNS).build();
+        fill(queue);
+
+        final Thread producer = new Thread(() -> queue.submit(new DummyEvent(0, 3)));
+        producer.start();
+        // the producer has to wait for the consumer to finish its batch before it can run the queued events
+        while (producer.getState() != Thread.State.WAITING)
+            Thread.sleep(1);
+        release.countDown();
+        producer.join();
+        queue.close();
+
+        MatcherAssert.assertThat("Events were reordered when running on the caller.", received, Matchers.contains(0, 1, 2, 3));
+        MatcherAssert.assertThat("Overflowing event wasn't dispatched on the caller.", threads.get(3), Matchers.sameInstance(producer));
+    }
+
+    @Test
+    public void testSubmitWhileClosing() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicInteger received = new AtomicInteger();
+        bus.registerListener(event -> {
+            received.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final EventQueue queue = EventQueue.builder(bus).capacity(1 << 16).partitions(2).build();
+        final AtomicInteger accepted = new AtomicInteger();
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            final int key = p;
+            final Thread producer = new Thread(() -> {
+                try {
+                    while (true) {
+                        queue.submit(new DummyEvent(key, 0));
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException closed) {
+                    // expected once the queue has been closed
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        Thread.sleep(20);
+        queue.close();
+        for (final Thread producer : producers)
+            producer.join();
+
+        MatcherAssert.assertThat("Events accepted while closing weren't dispatched.", received.get(), Matchers.is(accepted.get()));
+    }
+
+    @Test
+    public void testHandlerError() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        bus.registerListener(event -> {
+            if (event.id == 0) throw new AssertionError("expected");
+            received.add(event.id);
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        final CountDownLatch reported = new CountDownLatch(1);
+        final EventQueue queue = EventQueue.builder(bus)
+                .threadFactory(runnable -> {
+                    final Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler((t, e) -> {
+                        uncaught.add(e);
+                        reported.countDown();
+                    });
+                    return thread;
+                })
+                .build();
+        queue.submit(new DummyEvent(0, 0));
+        MatcherAssert.assertThat("Error wasn't reported in time.", reported.await(5, TimeUnit.SECONDS), Matchers.is(true));
+        queue.submit(new DummyEvent(0, 1));
+        queue.close();
+
+        MatcherAssert.assertThat("Consumer didn't survive an error of a handler.", received, Matchers.contains(1));
+        MatcherAssert.assertThat("Error wasn't reported.", uncaught.get(0), Matchers.instanceOf(AssertionError.class));
+    }
+
+    /*
+    fills a queue with a capacity of 2 while its consumer is stuck on the first event, then submits a fourth event
+     */
+    private static List<Integer> overflow(final OverflowPolicy policy) throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        bus.registerListener(event -> {
+            if (event.id == 0) await(release);
+            received.add(event.id);
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final EventQueue queue = EventQueue.builder(bus).capacity(2).overflowPolicy(policy).build();
+        fill(queue);
+        final boolean accepted = queue.submit(new DummyEvent(0, 3));
+        MatcherAssert.assertThat("Submit didn't report whether the event was accepted.", accepted, Matchers.is(policy != OverflowPolicy.DROP_NEWEST));
+        MatcherAssert.assertThat("Dropped event wasn't counted.", queue.getDroppedCount(), Matchers.is(1L));
+
+        release.countDown();
+        queue.close();
+        return received;
+    }
+
+    private static void fill(final EventQueue queue) throws InterruptedException {
+        queue.submit(new DummyEvent(0, 0));
+        while (queue.size() > 0)
+            Thread.sleep(1);
+        queue.submit(new DummyEvent(0, 1));
+        queue.submit(new DummyEvent(0, 2));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {
+        private final int key;
+        private final int id;
+
+        DummyEvent(final int key, final int id) {
+            this.key = key;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.EventFilter;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.HandlerList;
+import net.sxlver.eventlibrary.core.error.ErrorHandler;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public class FilterTest {
+
+    private static final AtomicInteger EVALUATIONS = new AtomicInteger();
+
+    @Test
+    public void testSubscriberFilter() {
+        final EventBus bus = EventBus.builder().build();
+        final Listener listener = new Listener();
+        final PrivateListener privateListener = new PrivateListener();
+        bus.registerListener(listener);
+        bus.registerListener(privateListener);
+
+        EVALUATIONS.set(0);
+        bus.dispatchEvent(new NumberEvent(1));
+        bus.dispatchEvent(new NumberEvent(2));
+
+        MatcherAssert.assertThat("Filtered subscriber received a rejected event.", listener.received, Matchers.is(Arrays.asList(2, 2)));
+        MatcherAssert.assertThat("Reflective subscriber ignored its filter.", privateListener.received, Matchers.is(Arrays.asList(2)));
+        MatcherAssert.assertThat("Shared filter wasn't evaluated once per dispatch.", EVALUATIONS.get(), Matchers.is(2));
+
+        final HandlerList.Handler<?> handler = (HandlerList.Handler<?>) bus.registerListener(listener).getHandlers().iterator().next();
+        MatcherAssert.assertThat("Handler wasn't created from the generated dispatcher.", handler.getMethod(), Matchers.nullValue());
+    }
+
+    @Test
+    public void testAnonymousFilter() {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Predicate<NumberEvent> positive = event -> {
+            evaluations.incrementAndGet();
+            return event.value > 0;
+        };
+        final IEventHandler<NumberEvent> first = bus.registerListener(ListenerExecutionResult::success, NumberEvent.class, positive);
+        bus.registerListener(ListenerExecutionResult::success, NumberEvent.class, positive);
+        bus.registerListener(ListenerExecutionResult::success, NumberEvent.class);
+
+        final IEventResult<NumberEvent> rejected = bus.dispatchEvent(new NumberEvent(-1));
+        MatcherAssert.assertThat("Rejected handlers created results.", rejected.getExecutionStack().size(), Matchers.is(1));
+        MatcherAssert.assertThat("Shared predicate wasn't evaluated once.", evaluations.get(), Matchers.is(1));
+
+        final IEventResult<NumberEvent> accepted = bus.dispatchEvent(new NumberEvent(1));
+        MatcherAssert.assertThat("Accepted handlers weren't invoked.", accepted.getExecutionStack().size(), Matchers.is(3));
+
+        bus.unregisterHandler(first);
+        bus.fireEvent(new NumberEvent(1));
+        MatcherAssert.assertThat("Predicate wasn't evaluated once per dispatch.", evaluations.get(), Matchers.is(3));
+    }
+
+    @Test
+    public void testBatch() {
+        final EventBus bus = EventBus.builder().build();
+        final List<Integer> received = new ArrayList<>();
+        bus.registerListener(event -> {
+            received.add(event.value);
+            return ListenerExecutionResult.cancel(event);
+        }, NumberEvent.class, event -> event.value % 2 == 0);
+
+        final IBatchResult<NumberEvent> result = bus.dispatchBatch(NumberEvent.class,
+                Arrays.asList(new NumberEvent(1), new NumberEvent(2), new NumberEvent(3), new NumberEvent(4)));
+        MatcherAssert.assertThat("Batch wasn't filtered.", received, Matchers.is(Arrays.asList(2, 4)));
+        MatcherAssert.assertThat("Results of filtered events were applied.", result.cancelledCount(), Matchers.is(2));
+    }
+
+    @Test
+    public void testFailingFilter() {
+        final List<IEventHandler<?>> failed = new ArrayList<>();
+        final EventBus bus = EventBus.builder().errorHandler(new ErrorHandler() {
+            @Override
+            public void onError(final AEvent<?> event, final IListenerExecutionResult<?> result) {
+            }
+
+            @Override
+            public void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+                failed.add(handler);
+            }
+        }).build();
+        final AtomicInteger invocations = new AtomicInteger();
+        final IEventHandler<NumberEvent> handler = bus.registerListener(event -> {
+            invocations.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, NumberEvent.class, event -> {
+            throw new IllegalStateException();
+        });
+
+        bus.fireEvent(new NumberEvent(1));
+        MatcherAssert.assertThat("Handler was invoked although its filter has thrown.", invocations.get(), Matchers.is(0));
+        MatcherAssert.assertThat("Failing filter wasn't reported.", failed, Matchers.contains(handler));
+    }
+
+    public static class EvenFilter implements EventFilter<NumberEvent> {
+        @Override
+        public boolean test(final NumberEvent event) {
+            EVALUATIONS.incrementAndGet();
+            return event.value % 2 == 0;
+        }
+    }
+
+    static class Listener {
+        private final List<Integer> received = new ArrayList<>();
+
+        @EventSubscriber(filter = EvenFilter.class)
+        public IListenerExecutionResult<NumberEvent> onFirst(final NumberEvent event) {
+            received.add(event.value);
+            return ListenerExecutionResult.success(event);
+        }
+
+        @EventSubscriber(filter = EvenFilter.class)
+        public IListenerExecutionResult<NumberEvent> onSecond(final NumberEvent event) {
+            received.add(event.value);
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class PrivateListener {
+        private final List<Integer> received = new ArrayList<>();
+
+        @EventSubscriber(filter = EvenFilter.class)
+        private IListenerExecutionResult<NumberEvent> onEvent(final NumberEvent event) {
+            received.add(event.value);
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class NumberEvent extends AEvent<NumberEvent> {
+        private final int value;
+
+        NumberEvent(final int value) {
+            this.value = value;
+        }
+    }
+}
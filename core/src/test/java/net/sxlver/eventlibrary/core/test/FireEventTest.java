@@ -0,0 +1,35 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+public class FireEventTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final IEventHandler<DummyEvent> canceller = bus.registerListener(ListenerExecutionResult::cancel, DummyEvent.class, EventPriority.LOW);
+        final IEventHandler<DummyEvent> succeeder = bus.registerListener(ListenerExecutionResult::success, DummyEvent.class, EventPriority.HIGH, 1, true);
+
+        MatcherAssert.assertThat("Fired event wasn't reported as cancelled.", bus.fireEvent(new DummyEvent()));
+
+        final IEventResult<DummyEvent> result = bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Dispatched event wasn't reported as cancelled.", result.cancelled());
+        MatcherAssert.assertThat("Results weren't attributed to their handlers.",
+                result.getExecutionStack().getFirst().getHandler(), Matchers.sameInstance(canceller));
+        MatcherAssert.assertThat("Results weren't attributed to their handlers.",
+                result.getExecutionStack().getLast().getHandler(), Matchers.sameInstance(succeeder));
+
+        bus.unregisterHandler(canceller);
+        MatcherAssert.assertThat("Event was reported as cancelled.", !bus.fireEvent(new DummyEvent()));
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,80 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.annotation.Prioritized;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.HandlerList;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+public class GeneratedDispatcherTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final Listener listener = new Listener();
+
+        final HandlerList.Handler<?> handler = (HandlerList.Handler<?>) bus.registerListener(listener).getHandlers().iterator().next();
+        MatcherAssert.assertThat("Handler wasn't created from the generated dispatcher.", handler.getMethod(), Matchers.nullValue());
+        MatcherAssert.assertThat("Generated handler has the wrong name.", handler.getName(), Matchers.is("onEvent"));
+        MatcherAssert.assertThat("Priority wasn't taken from the annotation.", handler.getPriority(), Matchers.is(EventPriority.LOW));
+        MatcherAssert.assertThat("Weight wasn't taken from the annotation.", handler.getWeight(), Matchers.is(5));
+        MatcherAssert.assertThat("ignoreCancelled wasn't taken from the annotation.", handler.isIgnoreCancelled());
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Generated handler wasn't invoked.", listener.called);
+    }
+
+    @Test
+    public void testPrivateSubscriber() {
+        final EventBus bus = EventBus.builder().build();
+        final PrivateListener listener = new PrivateListener();
+
+        final HandlerList.Handler<?> handler = (HandlerList.Handler<?>) bus.registerListener(listener).getHandlers().iterator().next();
+        MatcherAssert.assertThat("Listener with a private subscriber wasn't registered reflectively.", handler.getMethod(), Matchers.notNullValue());
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Private subscriber wasn't invoked.", listener.called);
+    }
+
+    /*
+    the test resources register a dispatcher which doesn't exist
+     */
+    @Test
+    public void testBrokenProvider() {
+        final EventBus bus = EventBus.builder().build();
+        final PrivateListener listener = new PrivateListener();
+
+        bus.registerListener(listener);
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Broken provider prevented the listener from being registered.", listener.called);
+    }
+
+    static class Listener {
+        private boolean called;
+
+        @EventSubscriber(ignoreCancelled = true)
+        @Prioritized(priority = EventPriority.LOW, weight = 5)
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            called = true;
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class PrivateListener {
+        private boolean called;
+
+        @EventSubscriber
+        private IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            called = true;
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
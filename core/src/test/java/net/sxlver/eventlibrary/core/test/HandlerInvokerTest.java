@@ -0,0 +1,55 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.invoke.HandlerInvoker;
+import net.sxlver.eventlibrary.core.invoke.InvokerFactory;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HandlerInvokerTest {
+
+    @Test
+    public void test() throws Throwable {
+        final Listener listener = new Listener();
+        EventLibrary.registerListener(listener);
+        EventLibrary.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Private subscriber wasn't invoked.", listener.called);
+
+        final HandlerInvoker invoker = InvokerFactory.create(Listener.class.getDeclaredMethod("onEvent", DummyEvent.class));
+        MatcherAssert.assertThat("Invoker wasn't generated through the LambdaMetafactory.",
+                invoker.getClass().getName().startsWith(Listener.class.getName() + "$$Lambda"));
+    }
+
+    @Test
+    public void testException() {
+        EventLibrary.registerListener(new FailingListener());
+        Assertions.assertThrows(EventException.class, () -> EventLibrary.dispatchEvent(new FailingEvent()));
+    }
+
+    static class Listener {
+        private boolean called;
+
+        @EventSubscriber
+        private IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            called = true;
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class FailingListener {
+        @EventSubscriber
+        public IListenerExecutionResult<FailingEvent> onEvent(final FailingEvent event) {
+            throw new IllegalStateException();
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+
+    static class FailingEvent extends AEvent<FailingEvent> {}
+}
@@ -0,0 +1,104 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.annotation.Prioritized;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HierarchyDispatchTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final List<String> calls = new ArrayList<>();
+        bus.registerListener(new Listener(calls));
+
+        bus.dispatchEvent(new ChildEvent());
+        MatcherAssert.assertThat("Handlers of supertypes weren't called in order.", calls,
+                Matchers.is(Arrays.asList("interface", "child", "parent")));
+
+        calls.clear();
+        bus.dispatchEvent(new ParentEvent());
+        MatcherAssert.assertThat("Handler of a subtype received its parent event.", calls, Matchers.is(Arrays.asList("parent")));
+
+        calls.clear();
+        bus.registerListener(new LateListener(calls));
+        bus.dispatchEvent(new ChildEvent());
+        MatcherAssert.assertThat("Cached chain wasn't invalidated after registering a handler.", calls,
+                Matchers.is(Arrays.asList("interface", "child", "parent", "late")));
+    }
+
+    @Test
+    public void testSupertypeRegisteredLater() {
+        final EventBus bus = EventBus.builder().build();
+        final List<String> calls = new ArrayList<>();
+        bus.dispatchEvent(new ChildEvent());
+
+        bus.registerListener(event -> {
+            calls.add("parent");
+            return ListenerExecutionResult.success(event);
+        }, ParentEvent.class);
+        bus.dispatchEvent(new ChildEvent());
+        MatcherAssert.assertThat("Chain of a subtype wasn't invalidated by a list created after it.", calls,
+                Matchers.is(Arrays.asList("parent")));
+    }
+
+    static class Listener {
+        private final List<String> calls;
+
+        Listener(final List<String> calls) {
+            this.calls = calls;
+        }
+
+        @EventSubscriber
+        @Prioritized(priority = EventPriority.HIGH)
+        public IListenerExecutionResult<ParentEvent> onParent(final ParentEvent event) {
+            calls.add("parent");
+            return ListenerExecutionResult.success(event);
+        }
+
+        @EventSubscriber
+        public IListenerExecutionResult<ParentEvent> onChild(final ChildEvent event) {
+            calls.add("child");
+            return ListenerExecutionResult.success(event);
+        }
+
+        @EventSubscriber
+        @Prioritized(priority = EventPriority.LOWEST)
+        public IListenerExecutionResult<ParentEvent> onMarked(final Marker event) {
+            calls.add("interface");
+            return ListenerExecutionResult.success((ParentEvent) event);
+        }
+    }
+
+    static class LateListener {
+        private final List<String> calls;
+
+        LateListener(final List<String> calls) {
+            this.calls = calls;
+        }
+
+        @EventSubscriber
+        @Prioritized(priority = EventPriority.HIGHEST)
+        public IListenerExecutionResult<ParentEvent> onParent(final ParentEvent event) {
+            calls.add("late");
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    interface Marker {}
+
+    static class ParentEvent extends AEvent<ParentEvent> {}
+
+    static class ChildEvent extends ParentEvent implements Marker {}
+}
@@ -0,0 +1,129 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.IKeyedEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IBatchResult;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class KeyedDispatchTest {
+
+    @Test
+    public void testRouting() {
+        final EventBus bus = EventBus.builder().build();
+        final List<String> calls = new ArrayList<>();
+        bus.registerListener(event -> {
+            calls.add("all");
+            return ListenerExecutionResult.success(event);
+        }, KeyedEvent.class);
+        for (int i = 0; i < 1000; i++) {
+            final int key = i;
+            bus.registerKeyedListener(event -> {
+                calls.add("key " + key);
+                return ListenerExecutionResult.success(event);
+            }, KeyedEvent.class, key, EventPriority.HIGH, 1, false);
+        }
+
+        bus.dispatchEvent(new KeyedEvent(42));
+        MatcherAssert.assertThat("Event wasn't routed to the handlers of its key only.", calls,
+                Matchers.is(Arrays.asList("all", "key 42")));
+
+        calls.clear();
+        bus.fireEvent(new KeyedEvent(null));
+        MatcherAssert.assertThat("Event without a key reached keyed handlers.", calls, Matchers.is(Arrays.asList("all")));
+
+        calls.clear();
+        bus.fireEvent(new KeyedEvent(5000));
+        MatcherAssert.assertThat("Event of an unknown key reached keyed handlers.", calls, Matchers.is(Arrays.asList("all")));
+    }
+
+    @Test
+    public void testUnregister() {
+        final EventBus bus = EventBus.builder().build();
+        final List<String> calls = new ArrayList<>();
+        final IEventHandler<KeyedEvent> handler = bus.registerKeyedListener(event -> {
+            calls.add("first");
+            return ListenerExecutionResult.success(event);
+        }, KeyedEvent.class, "a");
+
+        bus.fireEvent(new KeyedEvent("a"));
+        bus.registerKeyedListener(event -> {
+            calls.add("second");
+            return ListenerExecutionResult.success(event);
+        }, KeyedEvent.class, "a", EventPriority.LOW, 1, false);
+        bus.fireEvent(new KeyedEvent("a"));
+        bus.unregisterHandler(handler);
+        bus.fireEvent(new KeyedEvent("a"));
+
+        MatcherAssert.assertThat("Cached route wasn't invalidated after the registry changed.", calls,
+                Matchers.is(Arrays.asList("first", "second", "first", "second")));
+    }
+
+    @Test
+    public void testBatch() {
+        final EventBus bus = EventBus.builder().build();
+        final List<Object> received = new ArrayList<>();
+        bus.registerKeyedListener(event -> {
+            received.add(event.getRoutingKey());
+            return ListenerExecutionResult.cancel(event);
+        }, KeyedEvent.class, "a");
+        bus.registerBatchListener(events -> {
+            for (final KeyedEvent event : events)
+                received.add("batch " + event.getRoutingKey());
+            return null;
+        }, KeyedEvent.class, EventPriority.HIGH, 1, false);
+
+        final IBatchResult<KeyedEvent> result = bus.dispatchBatch(KeyedEvent.class,
+                Arrays.asList(new KeyedEvent("a"), new KeyedEvent("b"), new KeyedEvent("a")));
+
+        MatcherAssert.assertThat("Batch wasn't routed by key.", received,
+                Matchers.is(Arrays.asList("a", "a", "batch b")));
+        MatcherAssert.assertThat("Events of the key weren't cancelled.", result.cancelledCount(), Matchers.is(2));
+    }
+
+    @Test
+    public void testBatchOrder() {
+        final EventBus bus = EventBus.builder().build();
+        final List<String> received = new ArrayList<>();
+        bus.registerKeyedListener(event -> {
+            received.add("high " + event.getRoutingKey());
+            return ListenerExecutionResult.success(event);
+        }, KeyedEvent.class, "b", EventPriority.HIGH, 1, false);
+        bus.registerListener(event -> {
+            received.add("all " + event.getRoutingKey());
+            return ListenerExecutionResult.success(event);
+        }, KeyedEvent.class);
+        bus.registerKeyedListener(event -> {
+            received.add("low " + event.getRoutingKey());
+            return ListenerExecutionResult.success(event);
+        }, KeyedEvent.class, "a", EventPriority.LOW, 1, false);
+
+        bus.dispatchBatch(KeyedEvent.class,
+                Arrays.asList(new KeyedEvent("b"), new KeyedEvent("a"), new KeyedEvent("c"), new KeyedEvent("b")));
+
+        MatcherAssert.assertThat("Batch didn't pass the handlers of all keys in order.", received,
+                Matchers.is(Arrays.asList("low a", "all b", "all a", "all c", "all b", "high b", "high b")));
+    }
+
+    static class KeyedEvent extends AEvent<KeyedEvent> implements IKeyedEvent {
+        private final Object key;
+
+        KeyedEvent(final Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public Object getRoutingKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.annotation.Prioritized;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.HandlerList;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+public class ListenerMetadataTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final Listener first = new Listener();
+        final Listener second = new Listener();
+
+        final HandlerList.Handler<?> firstHandler = (HandlerList.Handler<?>) bus.registerListener(first).getHandlers().iterator().next();
+        final HandlerList.Handler<?> secondHandler = (HandlerList.Handler<?>) bus.registerListener(second).getHandlers().iterator().next();
+
+        MatcherAssert.assertThat("Invoker wasn't shared between instances of the same listener.",
+                secondHandler.getInvoker(), Matchers.sameInstance(firstHandler.getInvoker()));
+        MatcherAssert.assertThat("Handlers were bound to the wrong instance.", secondHandler.getInst(), Matchers.sameInstance(second));
+        MatcherAssert.assertThat("Priority wasn't taken from the annotation.", secondHandler.getPriority(), Matchers.is(EventPriority.HIGH));
+        MatcherAssert.assertThat("Weight wasn't taken from the annotation.", secondHandler.getWeight(), Matchers.is(3));
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Instances of the same listener weren't both called.", first.calls + second.calls, Matchers.is(2));
+    }
+
+    static class Listener {
+        private int calls;
+
+        @EventSubscriber
+        @Prioritized(priority = EventPriority.HIGH, weight = 3)
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            calls++;
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,135 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.common.exception.HandlerFailureException;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.error.LoggingErrorHandler;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+public class LoggingErrorHandlerTest {
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @Test
+    public void testDeduplication() {
+        final LoggingErrorHandler errorHandler = LoggingErrorHandler.builder()
+                .logger(logger)
+                .deduplicate(1, TimeUnit.HOURS)
+                .build();
+        final EventBus bus = EventBus.builder().errorHandler(errorHandler).build();
+        bus.registerListener(event -> ListenerExecutionResult.fail(event, "expected"), DummyEvent.class);
+
+        for (int i = 0; i < 100; i++)
+            bus.dispatchEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Duplicate errors weren't suppressed.", records, Matchers.hasSize(1));
+        MatcherAssert.assertThat("Suppressed errors weren't counted.", errorHandler.getSuppressedCount(), Matchers.is(99L));
+    }
+
+    @Test
+    public void testRateLimit() {
+        final LoggingErrorHandler errorHandler = LoggingErrorHandler.builder()
+                .logger(logger)
+                .rateLimit(10, 1, TimeUnit.HOURS)
+                .rethrow(false)
+                .build();
+        final EventBus bus = EventBus.builder().errorHandler(errorHandler).build();
+        bus.registerListener(event -> {
+            throw new IllegalStateException();
+        }, DummyEvent.class);
+
+        for (int i = 0; i < 100; i++)
+            bus.dispatchEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Errors weren't rate limited.", records, Matchers.hasSize(10));
+        MatcherAssert.assertThat("Wrapped exception wasn't logged.", records.get(0).getThrown().getCause(), Matchers.instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void testAsync() throws InterruptedException {
+        final CountDownLatch logged = new CountDownLatch(1);
+        final Thread dispatcher = Thread.currentThread();
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                if (Thread.currentThread() != dispatcher) logged.countDown();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        final EventBus bus = EventBus.builder().errorHandler(LoggingErrorHandler.builder().logger(logger).async(16).build()).build();
+        bus.registerListener(event -> ListenerExecutionResult.fail(event, "expected"), DummyEvent.class);
+        bus.dispatchEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Error wasn't logged on the background thread.", logged.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testClose() {
+        final LoggingErrorHandler errorHandler = LoggingErrorHandler.builder().logger(logger).async(16).build();
+        final EventBus bus = EventBus.builder().errorHandler(errorHandler).build();
+        bus.registerListener(event -> ListenerExecutionResult.fail(event, "expected"), DummyEvent.class);
+
+        for (int i = 0; i < 5; i++)
+            bus.dispatchEvent(new DummyEvent());
+        errorHandler.close();
+        MatcherAssert.assertThat("Waiting errors weren't logged on close.", records, Matchers.hasSize(5));
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Error wasn't logged synchronously after close.", records, Matchers.hasSize(6));
+    }
+
+    @Test
+    public void testStacklessFailure() {
+        final EventBus bus = EventBus.builder().errorHandler((event, result) -> {}).build();
+        bus.registerListener(event -> ListenerExecutionResult.fail(event, "expected"), DummyEvent.class);
+
+        final IEventResult<DummyEvent> result = bus.dispatchEvent(new DummyEvent());
+        final Throwable error = result.getExecutionStack().iterator().next().getError().getError();
+        MatcherAssert.assertThat("Expected failure wasn't reported.", error, Matchers.instanceOf(HandlerFailureException.class));
+        MatcherAssert.assertThat("Expected failure captured a stack trace.", error.getStackTrace().length, Matchers.is(0));
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
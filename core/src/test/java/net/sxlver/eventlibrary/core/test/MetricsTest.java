@@ -0,0 +1,103 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.exception.EventException;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.error.ErrorHandler;
+import net.sxlver.eventlibrary.core.metrics.EventMetrics;
+import net.sxlver.eventlibrary.core.metrics.LatencyHistogram;
+import net.sxlver.eventlibrary.core.metrics.StatisticsMetricsSink;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+
+public class MetricsTest {
+
+    @Test
+    public void test() {
+        final StatisticsMetricsSink sink = new StatisticsMetricsSink();
+        final EventBus bus = EventBus.builder().metricsSink(sink).errorHandler(new ErrorHandler() {
+            @Override
+            public void onError(final AEvent<?> event, final IListenerExecutionResult<?> result) {
+            }
+
+            @Override
+            public void onException(final AEvent<?> event, final IEventHandler<?> handler, final EventException exception) {
+            }
+        }).build();
+
+        final IEventHandler<DummyEvent> cancelling = bus.registerListener(ListenerExecutionResult::cancel, DummyEvent.class, EventPriority.HIGH, 1);
+        final IEventHandler<DummyEvent> failing = bus.registerListener(event -> {
+            throw new IllegalStateException();
+        }, DummyEvent.class, EventPriority.LOW, 1, true);
+
+        for (int i = 0; i < 10; i++)
+            bus.dispatchEvent(new DummyEvent());
+
+        final StatisticsMetricsSink.EventStatistics events = sink.getEventStatistics(DummyEvent.class);
+        MatcherAssert.assertThat("Dispatches weren't counted.", events.getDispatched(), Matchers.is(10L));
+        MatcherAssert.assertThat("Cancelled events weren't counted.", events.getCancelled(), Matchers.is(10L));
+        MatcherAssert.assertThat("Dispatch latency wasn't recorded.", events.getLatency().getCount(), Matchers.is(10L));
+
+        final StatisticsMetricsSink.HandlerStatistics cancels = sink.getHandlerStatistics(cancelling);
+        MatcherAssert.assertThat("Invocations weren't counted.", cancels.getInvocations(), Matchers.is(10L));
+        MatcherAssert.assertThat("Cancels weren't counted.", cancels.getCancels(), Matchers.is(10L));
+        MatcherAssert.assertThat("Errors were counted for a handler that didn't fail.", cancels.getErrors(), Matchers.is(0L));
+
+        final StatisticsMetricsSink.HandlerStatistics errors = sink.getHandlerStatistics(failing);
+        MatcherAssert.assertThat("Failing invocations weren't counted.", errors.getInvocations(), Matchers.is(10L));
+        MatcherAssert.assertThat("Exceptions weren't counted as errors.", errors.getErrors(), Matchers.is(10L));
+    }
+
+    @Test
+    public void testHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++)
+            histogram.record(i * 1000);
+
+        MatcherAssert.assertThat("Histogram lost values.", histogram.getCount(), Matchers.is(10_000L));
+        MatcherAssert.assertThat("Maximum wasn't kept exactly.", histogram.getMax(), Matchers.is(10_000_000L));
+        MatcherAssert.assertThat("Mean wasn't computed exactly.", histogram.getMean(), Matchers.closeTo(5_000_500D, 0.001));
+        MatcherAssert.assertThat("Median is off by more than the precision of the histogram.",
+                (double) histogram.getValueAtPercentile(50), Matchers.closeTo(5_000_000D, 5_000_000D / 64));
+        MatcherAssert.assertThat("99th percentile is off by more than the precision of the histogram.",
+                (double) histogram.getValueAtPercentile(99), Matchers.closeTo(9_900_000D, 9_900_000D / 64));
+
+        histogram.reset();
+        MatcherAssert.assertThat("Histogram wasn't reset.", histogram.getValueAtPercentile(99), Matchers.is(0L));
+    }
+
+    @Test
+    public void testMBean() throws JMException {
+        final StatisticsMetricsSink sink = new StatisticsMetricsSink();
+        final EventBus bus = EventBus.builder().metricsSink(sink).build();
+        bus.registerListener(ListenerExecutionResult::success, DummyEvent.class);
+        bus.dispatchEvent(new DummyEvent());
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = EventMetrics.register(sink, "test");
+        try {
+            final CompositeData[] eventTypes = (CompositeData[]) server.getAttribute(name, "EventTypes");
+            MatcherAssert.assertThat("Event type wasn't exposed.", eventTypes.length, Matchers.is(1));
+            MatcherAssert.assertThat("Event type wasn't exposed by name.", eventTypes[0].get("eventType"), Matchers.is(DummyEvent.class.getName()));
+            MatcherAssert.assertThat("Dispatches weren't exposed.", eventTypes[0].get("dispatched"), Matchers.is(1L));
+
+            final CompositeData[] handlers = (CompositeData[]) server.getAttribute(name, "Handlers");
+            MatcherAssert.assertThat("Handler wasn't exposed.", handlers.length, Matchers.is(1));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,92 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IEventResult;
+import net.sxlver.eventlibrary.core.DispatchStrategy;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelDispatchTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder()
+                .dispatchStrategy(DispatchStrategy.PARALLEL)
+                .parallelExecutor(executor)
+                .build();
+
+        // every handler waits for all others, which only succeeds if they run concurrently
+        final CountDownLatch latch = new CountDownLatch(4);
+        final AtomicInteger concurrent = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            bus.registerListener(event -> {
+                latch.countDown();
+                if (await(latch)) concurrent.incrementAndGet();
+                return ListenerExecutionResult.success(event);
+            }, DummyEvent.class, EventPriority.DEFAULT, i);
+        }
+
+        final IEventResult<DummyEvent> result = bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Handlers of the same priority didn't run concurrently.", concurrent.get(), Matchers.is(4));
+        MatcherAssert.assertThat("Not all results were recorded.", result.getExecutionStack(), Matchers.hasSize(4));
+    }
+
+    @Test
+    public void testCancellation() {
+        final EventBus bus = EventBus.builder()
+                .dispatchStrategy(DummyEvent.class, DispatchStrategy.PARALLEL)
+                .parallelExecutor(executor)
+                .build();
+        final AtomicInteger sameTier = new AtomicInteger();
+        final AtomicInteger nextTier = new AtomicInteger();
+
+        bus.registerListener(ListenerExecutionResult::cancel, DummyEvent.class, EventPriority.LOW, 1);
+        bus.registerListener(event -> {
+            sameTier.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class, EventPriority.LOW, 2);
+        bus.registerListener(event -> {
+            nextTier.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class, EventPriority.HIGH);
+
+        MatcherAssert.assertThat("Event wasn't cancelled.", bus.fireEvent(new DummyEvent()));
+        MatcherAssert.assertThat("Handler of the same priority was skipped.", sameTier.get(), Matchers.is(1));
+        MatcherAssert.assertThat("Handler of the next priority received a cancelled event.", nextTier.get(), Matchers.is(0));
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
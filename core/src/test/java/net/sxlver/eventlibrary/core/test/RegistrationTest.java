@@ -0,0 +1,51 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.Registration;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationTest {
+
+    @Test
+    public void test() {
+        final EventBus bus = EventBus.builder().build();
+        final Listener first = new Listener();
+        final Listener second = new Listener();
+
+        final Registration registration = bus.registerListener(first);
+        MatcherAssert.assertThat("Registering a listener twice created a new registration.",
+                bus.registerListener(first), Matchers.sameInstance(registration));
+        bus.registerListener(second);
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Instances of the same listener weren't both called.", first.calls + second.calls, Matchers.is(2));
+
+        registration.unregister();
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Unregistered listener was called.", first.calls, Matchers.is(1));
+        MatcherAssert.assertThat("Listener was unregistered along with another instance.", second.calls, Matchers.is(2));
+        MatcherAssert.assertThat("Registration still reported as registered.", !registration.isRegistered());
+
+        bus.unregisterListener(second);
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Unregistered listener was called.", second.calls, Matchers.is(2));
+    }
+
+    static class Listener {
+        private int calls;
+
+        @EventSubscriber
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            calls++;
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,123 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import net.sxlver.eventlibrary.core.ring.RingDispatcher;
+import net.sxlver.eventlibrary.core.ring.WaitStrategy;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RingDispatcherTest {
+
+    private static final int EVENTS = 100_000;
+
+    @Test
+    public void testBusySpin() {
+        test(WaitStrategy.busySpin());
+    }
+
+    @Test
+    public void testYielding() {
+        test(WaitStrategy.yielding());
+    }
+
+    @Test
+    public void testBlocking() {
+        test(WaitStrategy.blocking());
+    }
+
+    private void test(final WaitStrategy waitStrategy) {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicInteger expected = new AtomicInteger();
+        final AtomicInteger outOfOrder = new AtomicInteger();
+        final Set<DummyEvent> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        bus.registerListener(event -> {
+            if (event.value != expected.getAndIncrement()) outOfOrder.incrementAndGet();
+            instances.add(event);
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final RingDispatcher<DummyEvent> dispatcher = RingDispatcher.builder(bus, DummyEvent::new)
+                .bufferSize(8)
+                .waitStrategy(waitStrategy)
+                .build();
+        for (int i = 0; i < EVENTS; i++)
+            dispatcher.publish((event, value) -> event.value = value, i);
+        dispatcher.close();
+
+        MatcherAssert.assertThat("Not all published events were dispatched.", expected.get(), Matchers.is(EVENTS));
+        MatcherAssert.assertThat("Events were dispatched out of order.", outOfOrder.get(), Matchers.is(0));
+        MatcherAssert.assertThat("Event instances weren't reused.", instances, Matchers.hasSize(8));
+    }
+
+    @Test
+    public void testInterruptedConsumer() {
+        final EventBus bus = EventBus.builder().build();
+        final AtomicInteger received = new AtomicInteger();
+        bus.registerListener(event -> {
+            received.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final AtomicReference<Thread> consumer = new AtomicReference<>();
+        final RingDispatcher<DummyEvent> dispatcher = RingDispatcher.builder(bus, DummyEvent::new)
+                .bufferSize(8)
+                .threadFactory(runnable -> {
+                    final Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    consumer.set(thread);
+                    return thread;
+                })
+                .build();
+        consumer.get().interrupt();
+        for (int i = 0; i < 64; i++)
+            dispatcher.publish((event, value) -> event.value = value, i);
+        dispatcher.close();
+
+        MatcherAssert.assertThat("Interrupted consumer stopped dispatching.", received.get(), Matchers.is(64));
+    }
+
+    @Test
+    public void testDeadConsumer() {
+        final EventBus bus = EventBus.builder().build();
+        bus.registerListener(event -> {
+            throw new AssertionError("expected");
+        }, DummyEvent.class);
+
+        final RingDispatcher<DummyEvent> dispatcher = RingDispatcher.builder(bus, DummyEvent::new)
+                .bufferSize(8)
+                .threadFactory(runnable -> {
+                    final Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    /* rethrowing the error of the handler kills the consumer */
+                    thread.setUncaughtExceptionHandler((t, e) -> {
+                        throw (AssertionError) e;
+                    });
+                    return thread;
+                })
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 64; i++)
+                dispatcher.publish((event, value) -> event.value = value, i);
+        });
+    }
+
+    @Test
+    public void testBufferSize() {
+        final RingDispatcher.Builder<DummyEvent> builder = RingDispatcher.builder(EventBus.builder().build(), DummyEvent::new);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.bufferSize(12));
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {
+        private int value;
+    }
+}
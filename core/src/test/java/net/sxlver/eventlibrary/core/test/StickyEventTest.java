@@ -0,0 +1,126 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.annotation.EventPriority;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StickyEventTest {
+
+    @Test
+    public void testLateListener() {
+        final EventBus bus = EventBus.builder().sticky(StateEvent.class).build();
+        final Listener early = new Listener();
+        bus.registerListener(early);
+
+        final StateEvent event = new StateEvent("ready");
+        bus.dispatchEvent(event);
+        final Listener late = new Listener();
+        bus.registerListener(late);
+
+        MatcherAssert.assertThat("Early listener received the event again.", early.received, Matchers.is(Arrays.asList("ready")));
+        MatcherAssert.assertThat("Late listener didn't receive the sticky event.", late.received, Matchers.is(Arrays.asList("ready")));
+        MatcherAssert.assertThat("Sticky event wasn't kept.", bus.getStickyEvent(StateEvent.class), Matchers.sameInstance(event));
+
+        bus.fireEvent(new StateEvent("stopped"));
+        final List<String> received = new ArrayList<>();
+        bus.registerListener(e -> {
+            received.add(e.state);
+            return ListenerExecutionResult.success(e);
+        }, StateEvent.class);
+        MatcherAssert.assertThat("Anonymous handler didn't receive the latest event.", received, Matchers.is(Arrays.asList("stopped")));
+    }
+
+    @Test
+    public void testSubtypes() {
+        final EventBus bus = EventBus.builder().sticky(StateEvent.class).build();
+        bus.dispatchEvent(new StateEvent("base"));
+        bus.dispatchEvent(new ChildStateEvent("child"));
+
+        final List<String> received = new ArrayList<>();
+        bus.registerListener(e -> {
+            received.add(e.state);
+            return ListenerExecutionResult.success(e);
+        }, StateEvent.class);
+
+        MatcherAssert.assertThat("Supertype handler didn't receive the events of each sticky type.", received,
+                Matchers.containsInAnyOrder("base", "child"));
+        MatcherAssert.assertThat("Subtype replaced the event of its supertype.", bus.getStickyEvent(StateEvent.class).state, Matchers.is("base"));
+    }
+
+    @Test
+    public void testCancelled() {
+        final EventBus bus = EventBus.builder().sticky(StateEvent.class).build();
+        bus.dispatchEvent(new StateEvent("kept"));
+        bus.registerListener(ListenerExecutionResult::cancel, StateEvent.class, EventPriority.LOWEST, 1, false);
+        bus.dispatchEvent(new StateEvent("cancelled"));
+        MatcherAssert.assertThat("Cancelled event replaced the sticky event.", bus.getStickyEvent(StateEvent.class).state, Matchers.is("kept"));
+
+        final Listener listener = new Listener();
+        bus.registerListener(listener);
+        MatcherAssert.assertThat("Late listener didn't receive the last event not cancelled.", listener.received, Matchers.is(Arrays.asList("kept")));
+    }
+
+    @Test
+    public void testEviction() {
+        final EventBus bus = EventBus.builder()
+                .sticky(StateEvent.class)
+                .sticky(OtherEvent.class)
+                .maxStickyEvents(1)
+                .build();
+        bus.dispatchEvent(new StateEvent("evicted"));
+        bus.dispatchEvent(new OtherEvent());
+
+        MatcherAssert.assertThat("Eldest event wasn't evicted.", bus.getStickyEvent(StateEvent.class), Matchers.nullValue());
+        MatcherAssert.assertThat("Latest event wasn't kept.", bus.getStickyEvent(OtherEvent.class), Matchers.notNullValue());
+
+        bus.removeStickyEvent(OtherEvent.class);
+        MatcherAssert.assertThat("Sticky event wasn't removed.", bus.getStickyEvent(OtherEvent.class), Matchers.nullValue());
+    }
+
+    @Test
+    public void testNotSticky() {
+        final EventBus bus = EventBus.builder().build();
+        bus.dispatchEvent(new StateEvent("ignored"));
+        final Listener listener = new Listener();
+        bus.registerListener(listener);
+
+        MatcherAssert.assertThat("Event of a type not marked sticky was delivered.", listener.received, Matchers.empty());
+    }
+
+    public static class Listener {
+        private final List<String> received = new ArrayList<>();
+
+        @EventSubscriber
+        public IListenerExecutionResult<StateEvent> onState(final StateEvent event) {
+            received.add(event.state);
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class StateEvent extends AEvent<StateEvent> {
+        private final String state;
+
+        StateEvent(final String state) {
+            this.state = state;
+        }
+    }
+
+    static class ChildStateEvent extends StateEvent {
+        ChildStateEvent(final String state) {
+            super(state);
+        }
+    }
+
+    static class OtherEvent extends AEvent<OtherEvent> {
+    }
+}
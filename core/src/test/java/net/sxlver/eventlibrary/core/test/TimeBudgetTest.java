@@ -0,0 +1,225 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.IEventHandler;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.HandlerList;
+import net.sxlver.eventlibrary.core.Registration;
+import net.sxlver.eventlibrary.core.budget.SlowHandlerListener;
+import net.sxlver.eventlibrary.core.budget.TimeBudget;
+import net.sxlver.eventlibrary.core.budget.ViolationPolicy;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TimeBudgetTest {
+
+    private final List<String> slowHandlers = new CopyOnWriteArrayList<>();
+    private final List<Class<?>> slowDispatches = new CopyOnWriteArrayList<>();
+    private final List<ViolationPolicy> appliedPolicies = new CopyOnWriteArrayList<>();
+    private final SlowHandlerListener listener = new SlowHandlerListener() {
+        @Override
+        public void onSlowHandler(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                  final long durationNanos, final long budgetNanos, final int violations) {
+            slowHandlers.add(HandlerList.describe(handler));
+        }
+
+        @Override
+        public void onSlowDispatch(final Class<? extends AEvent<?>> event, final long durationNanos, final long budgetNanos) {
+            slowDispatches.add(event);
+        }
+
+        @Override
+        public void onPolicyApplied(final Class<? extends AEvent<?>> event, final IEventHandler<?> handler,
+                                    final ViolationPolicy policy) {
+            appliedPolicies.add(policy);
+        }
+    };
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        /* lets offloaded handlers finish their sleep rather than interrupting them */
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReport() {
+        final EventBus bus = EventBus.builder().timeBudget(TimeBudget.builder()
+                .handlerBudget(1, TimeUnit.MILLISECONDS)
+                .eventBudget(DummyEvent.class, 1, TimeUnit.MILLISECONDS)
+                .listener(listener)
+                .build()).build();
+        final Listener slow = new Listener();
+        bus.registerListener(slow);
+        bus.registerListener(ListenerExecutionResult::success, DummyEvent.class);
+
+        bus.dispatchEvent(new DummyEvent());
+        bus.fireEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Slow handler wasn't reported by listener class and method.", slowHandlers,
+                Matchers.contains(Listener.class.getName() + "#onEvent", Listener.class.getName() + "#onEvent"));
+        MatcherAssert.assertThat("Slow dispatch wasn't reported.", slowDispatches, Matchers.<Class<?>>contains(DummyEvent.class, DummyEvent.class));
+        MatcherAssert.assertThat("Handler was touched although violations should only be reported.", slow.calls, Matchers.is(2));
+    }
+
+    @Test
+    public void testDisable() {
+        final EventBus bus = EventBus.builder().timeBudget(TimeBudget.builder()
+                .handlerBudget(1, TimeUnit.MILLISECONDS)
+                .maxViolations(2, ViolationPolicy.DISABLE)
+                .listener(listener)
+                .build()).build();
+        final Listener slow = new Listener();
+        bus.registerListener(slow);
+
+        for (int i = 0; i < 3; i++)
+            bus.dispatchEvent(new DummyEvent());
+
+        MatcherAssert.assertThat("Handler wasn't disabled after exceeding its budget too often.", slow.calls, Matchers.is(2));
+        MatcherAssert.assertThat("Disabling the handler wasn't reported.", appliedPolicies, Matchers.contains(ViolationPolicy.DISABLE));
+    }
+
+    @Test
+    public void testReregisterDisabled() {
+        final EventBus bus = EventBus.builder().timeBudget(TimeBudget.builder()
+                .handlerBudget(1, TimeUnit.MILLISECONDS)
+                .maxViolations(1, ViolationPolicy.DISABLE)
+                .listener(listener)
+                .build()).build();
+        final Listener slow = new Listener();
+        final Registration registration = bus.registerListener(slow);
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Registration of the disabled handler still reports being registered.",
+                registration.isRegistered(), Matchers.is(false));
+
+        final Registration reregistered = bus.registerListener(slow);
+        MatcherAssert.assertThat("Stale registration was returned for the disabled listener.", reregistered,
+                Matchers.not(Matchers.sameInstance(registration)));
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Re-registered listener wasn't invoked.", slow.calls, Matchers.is(2));
+    }
+
+    @Test
+    public void testAsync() throws InterruptedException {
+        final EventBus bus = EventBus.builder().executor(executor).timeBudget(TimeBudget.builder()
+                .handlerBudget(1, TimeUnit.MILLISECONDS)
+                .maxViolations(1, ViolationPolicy.ASYNC)
+                .listener(listener)
+                .build()).build();
+        final Listener slow = new Listener();
+        bus.registerListener(slow);
+
+        MatcherAssert.assertThat("Handler didn't cancel while running synchronously.", bus.dispatchEvent(new DummyEvent()).cancelled());
+        MatcherAssert.assertThat("Handler on the asynchronous lane still cancelled the event.", !bus.dispatchEvent(new DummyEvent()).cancelled());
+
+        MatcherAssert.assertThat("Handler wasn't invoked on the asynchronous lane.", slow.offloaded.await(5, TimeUnit.SECONDS));
+        MatcherAssert.assertThat("Moving the handler wasn't reported.", appliedPolicies, Matchers.contains(ViolationPolicy.ASYNC));
+    }
+
+    @Test
+    public void testAsyncException() {
+        final EventBus bus = EventBus.builder().executor(Runnable::run).timeBudget(TimeBudget.builder()
+                .handlerBudget(1, TimeUnit.MILLISECONDS)
+                .maxViolations(1, ViolationPolicy.ASYNC)
+                .listener(listener)
+                .build()).build();
+        bus.registerListener(new ThrowingListener());
+
+        final List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        final Thread thread = Thread.currentThread();
+        final Thread.UncaughtExceptionHandler previous = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try {
+            bus.dispatchEvent(new DummyEvent());
+            bus.dispatchEvent(new DummyEvent());
+        } finally {
+            thread.setUncaughtExceptionHandler(previous);
+        }
+
+        MatcherAssert.assertThat("Exception of the asynchronous lane wasn't reported to the executing thread.", uncaught, Matchers.hasSize(1));
+    }
+
+    @Test
+    public void testAsyncNullResult() {
+        final EventBus bus = EventBus.builder().executor(Runnable::run).timeBudget(TimeBudget.builder()
+                .handlerBudget(1, TimeUnit.MILLISECONDS)
+                .maxViolations(1, ViolationPolicy.ASYNC)
+                .listener(listener)
+                .build()).build();
+        final int[] calls = new int[1];
+        bus.registerListener(event -> {
+            if (calls[0]++ > 0) return null;
+            sleep(5);
+            return ListenerExecutionResult.success(event);
+        }, DummyEvent.class);
+
+        final List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        final Thread thread = Thread.currentThread();
+        final Thread.UncaughtExceptionHandler previous = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try {
+            bus.dispatchEvent(new DummyEvent());
+            bus.dispatchEvent(new DummyEvent());
+        } finally {
+            thread.setUncaughtExceptionHandler(previous);
+        }
+
+        MatcherAssert.assertThat("Missing result on the asynchronous lane wasn't reported to the executing thread.", uncaught, Matchers.hasSize(1));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class ThrowingListener {
+        private int calls;
+
+        @EventSubscriber
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) throws InterruptedException {
+            if (calls++ > 0) throw new IllegalStateException("offloaded");
+            Thread.sleep(5);
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class Listener {
+        private final CountDownLatch offloaded = new CountDownLatch(1);
+        private final Thread thread = Thread.currentThread();
+        private volatile int calls;
+
+        @EventSubscriber
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) throws InterruptedException {
+            calls++;
+            if (Thread.currentThread() != thread) offloaded.countDown();
+            Thread.sleep(5);
+            return ListenerExecutionResult.cancel(event);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
@@ -0,0 +1,86 @@
+package net.sxlver.eventlibrary.core.test;
+
+import net.sxlver.eventlibrary.api.AEvent;
+import net.sxlver.eventlibrary.api.result.IListenerExecutionResult;
+import net.sxlver.eventlibrary.common.annotation.EventSubscriber;
+import net.sxlver.eventlibrary.core.EventBus;
+import net.sxlver.eventlibrary.core.HandlerList;
+import net.sxlver.eventlibrary.core.Registration;
+import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WeakRegistrationTest {
+
+    private static final AtomicInteger CALLS = new AtomicInteger();
+
+    @Test
+    public void testRegistration() {
+        final EventBus bus = EventBus.builder().build();
+        final Listener listener = new Listener();
+
+        final Registration registration = bus.registerWeakListener(listener);
+        MatcherAssert.assertThat("Registration wasn't weak.", registration.isWeak(), Matchers.is(true));
+        MatcherAssert.assertThat("Registering a listener twice created a new registration.",
+                bus.registerListener(listener), Matchers.sameInstance(registration));
+
+        final HandlerList.Handler<?> handler = (HandlerList.Handler<?>) registration.getHandlers().iterator().next();
+        MatcherAssert.assertThat("Handler wasn't bound to the listener.", handler.getInst(), Matchers.sameInstance(listener));
+
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Weakly registered listener wasn't called.", listener.calls, Matchers.is(1));
+
+        bus.unregisterListener(listener);
+        bus.dispatchEvent(new DummyEvent());
+        MatcherAssert.assertThat("Unregistered listener was called.", listener.calls, Matchers.is(1));
+        MatcherAssert.assertThat("Registration still reported as registered.", registration.isRegistered(), Matchers.is(false));
+    }
+
+    @Test
+    public void testCollected() throws InterruptedException {
+        final EventBus bus = EventBus.builder().build();
+        final Listener strong = new Listener();
+        bus.registerListener(strong);
+        final Registration registration = registerUnreachable(bus);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registration.isRegistered() && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+            bus.fireEvent(new DummyEvent());
+        }
+
+        MatcherAssert.assertThat("Collected listener wasn't unregistered.", registration.isRegistered(), Matchers.is(false));
+        MatcherAssert.assertThat("Registration still references the listener.", registration.getListener(), Matchers.nullValue());
+        MatcherAssert.assertThat("Strongly registered listener was collected.", strong.calls, Matchers.greaterThan(0));
+
+        final int calls = CALLS.get();
+        bus.fireEvent(new DummyEvent());
+        MatcherAssert.assertThat("Handler of a collected listener is still dispatched to.", CALLS.get(), Matchers.is(calls + 1));
+    }
+
+    private static Registration registerUnreachable(final EventBus bus) {
+        final Registration registration = bus.registerWeakListener(new Listener());
+        final WeakReference<Object> listener = new WeakReference<>(registration.getListener());
+        MatcherAssert.assertThat("Listener was collected while registering.", listener.get(), Matchers.notNullValue());
+        return registration;
+    }
+
+    public static class Listener {
+        private int calls;
+
+        @EventSubscriber
+        public IListenerExecutionResult<DummyEvent> onEvent(final DummyEvent event) {
+            calls++;
+            CALLS.incrementAndGet();
+            return ListenerExecutionResult.success(event);
+        }
+    }
+
+    static class DummyEvent extends AEvent<DummyEvent> {}
+}
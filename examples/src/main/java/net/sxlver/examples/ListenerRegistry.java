@@ -3,6 +3,7 @@ package net.sxlver.examples;
 import net.sxlver.eventlibrary.api.IEventHandler;
 import net.sxlver.eventlibrary.api.annotation.EventPriority;
 import net.sxlver.eventlibrary.core.EventLibrary;
+import net.sxlver.eventlibrary.core.Registration;
 import net.sxlver.eventlibrary.core.result.ListenerExecutionResult;
 
 import java.time.Instant;
@@ -20,6 +21,10 @@ public class ListenerRegistry {
         // To unregister event handlers simply call the EventLibrary#unregister function on them
         EventLibrary.unregisterListener(listener);
 
+        // registering a listener returns a Registration, which can be used to unregister the listener directly
+        final Registration registration = EventLibrary.registerListener(new EventListener());
+        registration.unregister();
+
         // we may also register anonymous handlers
         final IEventHandler<CustomEvent> handler = EventLibrary.registerListener(event -> {
             System.out.printf("[%s] A user has logged in! Status: %s", Instant.ofEpochMilli(event.getTimeOfLogin()), event.getState());
@@ -0,0 +1,379 @@
+package net.sxlver.eventlibrary.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Generates a dispatcher for every listener class declaring methods annotated with {@code EventSubscriber}.
+ * <p>
+ * The generated {@code <Listener>_EventDispatcher} implements {@code GeneratedDispatcher} and lists the
+ * subscriber methods of the listener along with the configuration of their {@code Prioritized} and
+ * {@code EventSubscriber} annotations. Its invokers call the subscriber methods directly, so registering
+ * and invoking the listener doesn't require any reflection. All dispatchers are registered as services in
+ * {@code META-INF/services}, which is where the core looks them up.
+ * <p>
+ * Listeners the generated code cannot access, e.g. private classes or classes with private subscriber
+ * methods, are skipped with a note and keep being handled reflectively. Passing
+ * {@code -A}{@value #WARN_REFLECTIVE}{@code =true} to the compiler reports them as warnings instead. Subscriber
+ * methods that the core would reject at runtime are reported as compile errors.
+ *
+ * @author Steve Oberst
+ */
+public class ListenerProcessor extends AbstractProcessor {
+
+    static final String EVENT_SUBSCRIBER = "net.sxlver.eventlibrary.common.annotation.EventSubscriber";
+    static final String PRIORITIZED = "net.sxlver.eventlibrary.api.annotation.Prioritized";
+    static final String EVENT = "net.sxlver.eventlibrary.api.AEvent";
+    static final String DISPATCHER = "net.sxlver.eventlibrary.core.invoke.GeneratedDispatcher";
+    static final String SUBSCRIBER = "net.sxlver.eventlibrary.core.invoke.GeneratedSubscriber";
+    static final String PRIORITY = "net.sxlver.eventlibrary.api.annotation.EventPriority";
+    static final String SUFFIX = "_EventDispatcher";
+    static final String WARN_REFLECTIVE = "eventlibrary.warnReflective";
+
+    private final Set<String> dispatchers = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+    private Filer filer;
+    private Diagnostic.Kind reflectiveKind;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.filer = processingEnv.getFiler();
+        this.reflectiveKind = Boolean.parseBoolean(processingEnv.getOptions().get(WARN_REFLECTIVE))
+                ? Diagnostic.Kind.WARNING : Diagnostic.Kind.NOTE;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(EVENT_SUBSCRIBER);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(WARN_REFLECTIVE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        final TypeElement annotation = elements.getTypeElement(EVENT_SUBSCRIBER);
+        if (annotation == null)
+            return false;
+
+        final Map<TypeElement, List<ExecutableElement>> listeners = new LinkedHashMap<>();
+        for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.METHOD)
+                continue;
+
+            final ExecutableElement method = (ExecutableElement) element;
+            if (!isValidSubscriber(method))
+                continue;
+
+            listeners.computeIfAbsent((TypeElement) method.getEnclosingElement(), type -> new ArrayList<>()).add(method);
+        }
+
+        for (final Map.Entry<TypeElement, List<ExecutableElement>> entry : listeners.entrySet()) {
+            final TypeElement listener = entry.getKey();
+            if (isSupportedListener(listener, entry.getValue()))
+                writeDispatcher(listener, entry.getValue());
+        }
+        return false;
+    }
+
+    /*
+    mirrors the checks done by Validator#checkValidSubscriber at runtime
+     */
+    private boolean isValidSubscriber(final ExecutableElement method) {
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final TypeMirror event = parameters.size() == 1 ? getEventType(method) : null;
+        if (event == null || !isEventType(event) || isBatch(method) && isAsync(method)) {
+            final String message = isBatch(method)
+                    ? method.getSimpleName() + " in class " + method.getEnclosingElement() + " is not a valid batch subscriber. " +
+                      "A batch subscriber may only take a List of the event or of an interface implemented by it as parameter " +
+                      "and can't complete asynchronously."
+                    : method.getSimpleName() + " in class " + method.getEnclosingElement() + " is not a valid event subscriber. " +
+                      "An event subscriber may only take the event or an interface implemented by it as parameter.";
+            messager.printMessage(Diagnostic.Kind.ERROR, message, method);
+            return false;
+        }
+        return true;
+    }
+
+    /*
+    the parameter of regular subscribers, the element type of the List taken by batch subscribers
+     */
+    private TypeMirror getEventType(final ExecutableElement method) {
+        final TypeMirror parameter = method.getParameters().get(0).asType();
+        if (!isBatch(method))
+            return parameter;
+
+        final TypeElement list = elements.getTypeElement(List.class.getName());
+        if (parameter.getKind() != TypeKind.DECLARED || !types.isAssignable(types.erasure(list.asType()), types.erasure(parameter)))
+            return null;
+
+        final List<? extends TypeMirror> arguments = ((DeclaredType) parameter).getTypeArguments();
+        return arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED ? arguments.get(0) : null;
+    }
+
+    private boolean isAsync(final ExecutableElement method) {
+        final TypeElement stage = elements.getTypeElement(CompletionStage.class.getName());
+        return method.getReturnType().getKind() == TypeKind.DECLARED
+                && types.isAssignable(types.erasure(method.getReturnType()), types.erasure(stage.asType()));
+    }
+
+    private boolean isBatch(final ExecutableElement method) {
+        return Boolean.TRUE.equals(getAnnotationValue(method, EVENT_SUBSCRIBER, "batch"));
+    }
+
+    private List<TypeMirror> getFilters(final ExecutableElement method) {
+        final Object value = getAnnotationValue(method, EVENT_SUBSCRIBER, "filter");
+        final List<TypeMirror> filters = new ArrayList<>();
+        if (value instanceof List) {
+            for (final Object filter : (List<?>) value)
+                filters.add((TypeMirror) ((AnnotationValue) filter).getValue());
+        }
+        return filters;
+    }
+
+    private Object getAnnotationValue(final ExecutableElement method, final String annotation, final String key) {
+        for (final AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation))
+                continue;
+
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals(key))
+                    return value.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private boolean isEventType(final TypeMirror type) {
+        final TypeMirror erasure = types.erasure(type);
+        if (erasure.getKind() != TypeKind.DECLARED)
+            return false;
+
+        final TypeElement element = (TypeElement) ((DeclaredType) erasure).asElement();
+        if (element.getKind() == ElementKind.INTERFACE)
+            return !isPlatformType(element.getQualifiedName().toString());
+
+        final TypeElement event = elements.getTypeElement(EVENT);
+        return event == null || types.isAssignable(erasure, types.erasure(event.asType()));
+    }
+
+    /*
+    events can only implement interfaces of the java platform in addition to their own
+     */
+    private static boolean isPlatformType(final String name) {
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    private boolean isSupportedListener(final TypeElement listener, final List<ExecutableElement> methods) {
+        if (listener.getKind() != ElementKind.CLASS && listener.getKind() != ElementKind.ENUM
+                || listener.getModifiers().contains(Modifier.ABSTRACT))
+            return false;
+
+        final PackageElement pkg = elements.getPackageOf(listener);
+        if (!isAccessible(listener, pkg)) {
+            reportReflective("Listener " + listener + " cannot be accessed by generated code, " +
+                    "it will be registered reflectively.", listener);
+            return false;
+        }
+
+        for (final ExecutableElement method : methods) {
+            final TypeElement event = (TypeElement) ((DeclaredType) types.erasure(getEventType(method))).asElement();
+            if (method.getModifiers().contains(Modifier.PRIVATE) || !isAccessible(event, pkg)) {
+                reportReflective("Subscriber " + method.getSimpleName() + " of " + listener + " cannot be accessed by generated code, " +
+                        "the listener will be registered reflectively.", method);
+                return false;
+            }
+            for (final TypeMirror filter : getFilters(method)) {
+                if (!isAccessible((TypeElement) ((DeclaredType) types.erasure(filter)).asElement(), pkg)) {
+                    reportReflective("Filter " + filter + " of subscriber " + method.getSimpleName() + " of " + listener +
+                            " cannot be accessed by generated code, the listener will be registered reflectively.", method);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isAccessible(final TypeElement type, final PackageElement pkg) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            final TypeElement current = (TypeElement) element;
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS)
+                return false;
+
+            final Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE))
+                return false;
+
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(current).equals(pkg))
+                return false;
+
+            element = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void writeDispatcher(final TypeElement listener, final List<ExecutableElement> methods) {
+        final PackageElement pkg = elements.getPackageOf(listener);
+        final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        final String simpleName = dispatcherName(listener);
+        final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        final String listenerName = types.erasure(listener.asType()).toString();
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("/**\n")
+                .append(" * Dispatcher for {@link ").append(listenerName).append("}, generated by ")
+                .append(ListenerProcessor.class.getName()).append(". Do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(DISPATCHER).append(" {\n\n")
+                .append("    private static final java.util.List<").append(SUBSCRIBER).append("> SUBSCRIBERS = java.util.Collections.unmodifiableList(java.util.Arrays.asList(\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            source.append(subscriber(listenerName, methods.get(i)));
+            source.append(i < methods.size() - 1 ? ",\n" : "\n");
+        }
+
+        source.append("    ));\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getListenerType() {\n")
+                .append("        return ").append(listenerName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<").append(SUBSCRIBER).append("> getSubscribers() {\n")
+                .append("        return SUBSCRIBERS;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try {
+            final JavaFileObject file = filer.createSourceFile(qualifiedName, listener);
+            try (final Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write dispatcher for " + listener + ": " + e.getMessage(), listener);
+            return;
+        }
+
+        dispatchers.add(qualifiedName);
+        originatingElements.add(listener);
+    }
+
+    private String subscriber(final String listenerName, final ExecutableElement method) {
+        final boolean batch = isBatch(method);
+        final boolean async = isAsync(method);
+        final String eventName = types.erasure(getEventType(method)).toString();
+        final String receiver = method.getModifiers().contains(Modifier.STATIC)
+                ? listenerName
+                : "((" + listenerName + ") listener)";
+        final String argument = batch ? "(java.util.List) event" : "(" + eventName + ") event";
+        final String call = receiver + "." + method.getSimpleName() + "(" + argument + ")";
+        final String body = method.getReturnType().getKind() == TypeKind.VOID
+                ? "{ " + call + "; return null; }"
+                : call;
+
+        final Object priority = getAnnotationValue(method, PRIORITIZED, "priority");
+        final Object weight = getAnnotationValue(method, PRIORITIZED, "weight");
+        final Object ignoreCancelled = getAnnotationValue(method, EVENT_SUBSCRIBER, "ignoreCancelled");
+
+        final List<TypeMirror> filters = getFilters(method);
+        final StringBuilder filterClasses = new StringBuilder();
+        for (final TypeMirror filter : filters)
+            filterClasses.append(filterClasses.length() == 0 ? "" : ", ").append(types.erasure(filter)).append(".class");
+
+        return "            new " + SUBSCRIBER + "(\"" + method.getSimpleName() + "\", " + eventName + ".class, "
+                + PRIORITY + "." + (priority != null ? ((VariableElement) priority).getSimpleName() : "DEFAULT") + ", "
+                + (weight != null ? ((Number) weight).intValue() : 1) + ", " + ignoreCancelled + ", " + batch + ", " + async + ",\n"
+                + "                    (listener, event) -> " + body
+                + (filters.isEmpty() ? "" : ",\n                    new Class<?>[] {" + filterClasses + "}") + ")";
+    }
+
+    /*
+    nested listeners are flattened, e.g. Outer.Listener becomes Outer_Listener_EventDispatcher
+     */
+    private static String dispatcherName(final TypeElement listener) {
+        final StringBuilder name = new StringBuilder(listener.getSimpleName());
+        Element element = listener.getEnclosingElement();
+        while (element instanceof TypeElement) {
+            name.insert(0, element.getSimpleName() + "_");
+            element = element.getEnclosingElement();
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private void writeServiceFile() {
+        if (dispatchers.isEmpty())
+            return;
+
+        try {
+            final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + DISPATCHER, originatingElements.toArray(new Element[0]));
+            try (final Writer writer = file.openWriter()) {
+                for (final String dispatcher : dispatchers)
+                    writer.write(dispatcher + "\n");
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write service file for generated dispatchers: " + e.getMessage());
+        }
+    }
+
+    private void reportReflective(final String message, final Element element) {
+        messager.printMessage(reflectiveKind, message, element);
+    }
+}